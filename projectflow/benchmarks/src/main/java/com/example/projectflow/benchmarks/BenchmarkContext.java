@@ -0,0 +1,139 @@
+package com.example.projectflow.benchmarks;
+
+import com.example.projectflow.ProjectflowApplication;
+import com.example.projectflow.model.TaskStatus;
+import com.example.projectflow.service.ProjectMembershipIndex;
+import com.example.projectflow.service.TaskCounterRebuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Приложение на встроенной базе (профиль bench) с синтетическими данными:
+ * users пользователей, каждый состоит во всех projects проектах (первый — владелец),
+ * в каждом проекте tasksPerProject задач и commentsPerProject комментариев.
+ * Данные вставляются пакетами через JDBC, затем пересчитываются счётчики и индекс членства.
+ */
+public final class BenchmarkContext implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ConfigurableApplicationContext context;
+    private final List<Long> userIds;
+    private final List<Long> projectIds;
+    private final Map<Long, List<Long>> taskIdsByProject;
+
+    private BenchmarkContext(ConfigurableApplicationContext context, List<Long> userIds, List<Long> projectIds,
+                             Map<Long, List<Long>> taskIdsByProject) {
+        this.context = context;
+        this.userIds = userIds;
+        this.projectIds = projectIds;
+        this.taskIdsByProject = taskIdsByProject;
+    }
+
+    public static BenchmarkContext start(int users, int projects, int tasksPerProject, int commentsPerProject,
+                                         String... properties) {
+        // Как аргументы командной строки: свойства по умолчанию перекрываются application.properties
+        String[] args = Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjectflowApplication.class)
+                .profiles("bench")
+                .run(args);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            rows.add(new Object[]{"user" + i, "x", now});
+        }
+        batch(jdbc, "INSERT INTO users (login, password_hash, created_at) VALUES (?, ?, ?)", rows);
+        List<Long> userIds = jdbc.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+
+        rows.clear();
+        for (int i = 0; i < projects; i++) {
+            rows.add(new Object[]{"Проект " + i, "Описание проекта " + i, Timestamp.valueOf(LocalDateTime.now().minusMinutes(i)), userIds.get(0)});
+        }
+        batch(jdbc, "INSERT INTO projects (name, description, created_at, owner_id) VALUES (?, ?, ?, ?)", rows);
+        List<Long> projectIds = jdbc.queryForList("SELECT id FROM projects ORDER BY id", Long.class);
+
+        rows.clear();
+        for (Long projectId : projectIds) {
+            for (int i = 0; i < userIds.size(); i++) {
+                rows.add(new Object[]{projectId, userIds.get(i), i == 0 ? "OWNER" : "MEMBER"});
+            }
+        }
+        batch(jdbc, "INSERT INTO project_members (project_id, user_id, role) VALUES (?, ?, ?)", rows);
+        Map<Long, List<Long>> memberIds = new HashMap<>();
+        jdbc.query("SELECT id, project_id FROM project_members ORDER BY id", rs -> {
+            memberIds.computeIfAbsent(rs.getLong(2), id -> new ArrayList<>()).add(rs.getLong(1));
+        });
+
+        TaskStatus[] statuses = TaskStatus.values();
+        for (Long projectId : projectIds) {
+            List<Long> members = memberIds.get(projectId);
+            rows.clear();
+            for (int i = 0; i < tasksPerProject; i++) {
+                rows.add(new Object[]{"Задача " + i + " проекта " + projectId, projectId, members.get(i % members.size()),
+                        statuses[i % statuses.length].name(), Timestamp.valueOf(LocalDateTime.now().minusSeconds(i))});
+            }
+            batch(jdbc, "INSERT INTO tasks (name, project_id, assigned_member_id, status, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+
+            rows.clear();
+            for (int i = 0; i < commentsPerProject; i++) {
+                rows.add(new Object[]{"Комментарий " + i + " к проекту " + projectId, projectId, userIds.get(i % userIds.size()),
+                        Timestamp.valueOf(LocalDateTime.now().minusSeconds(i))});
+            }
+            batch(jdbc, "INSERT INTO comments (text, project_id, author_id, created_at) VALUES (?, ?, ?, ?)", rows);
+        }
+        Map<Long, List<Long>> taskIdsByProject = new HashMap<>();
+        jdbc.query("SELECT id, project_id FROM tasks ORDER BY id", rs -> {
+            taskIdsByProject.computeIfAbsent(rs.getLong(2), id -> new ArrayList<>()).add(rs.getLong(1));
+        });
+
+        context.getBean(TaskCounterRebuilder.class).rebuildAll();
+        context.getBean(ProjectMembershipIndex.class).rebuild();
+        return new BenchmarkContext(context, userIds, projectIds, taskIdsByProject);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public ConfigurableApplicationContext getContext() {
+        return context;
+    }
+
+    public Long getOwnerId() {
+        return userIds.get(0);
+    }
+
+    public Long getUserId(int index) {
+        return userIds.get(index);
+    }
+
+    public Long getProjectId(int index) {
+        return projectIds.get(index);
+    }
+
+    public List<Long> getTaskIds(Long projectId) {
+        return taskIdsByProject.getOrDefault(projectId, List.of());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private static void batch(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.projectflow.benchmarks;
+
+import com.example.projectflow.service.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость BCrypt при разной силе хэша: по ней подбираются
+ * projectflow.password.bcrypt-strength и размер пула хэширования.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHasherBenchmark {
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private PasswordHasher passwordHasher;
+    private String storedHash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        passwordHasher = new PasswordHasher(strength, 1, 16, 60_000);
+        storedHash = passwordHasher.hash("correct horse battery staple");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public String hash() {
+        return passwordHasher.hash("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordHasher.matches("correct horse battery staple", storedHash);
+    }
+}
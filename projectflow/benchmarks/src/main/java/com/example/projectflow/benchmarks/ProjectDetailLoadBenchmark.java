@@ -0,0 +1,62 @@
+package com.example.projectflow.benchmarks;
+
+import com.example.projectflow.service.ProjectDetail;
+import com.example.projectflow.service.ProjectDetailService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Загрузка данных страницы проекта: параллельно на виртуальных потоках и по очереди в одной транзакции.
+ * На встроенной H2 нет сетевых задержек, поэтому выигрыш параллельного режима здесь меньше,
+ * чем на PostgreSQL (-Dspring.datasource.url=... в -jvmArgsAppend).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectDetailLoadBenchmark {
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    @Param({"1000"})
+    public int tasksPerProject;
+
+    private BenchmarkContext context;
+    private ProjectDetailService projectDetailService;
+    private Long projectId;
+    private Long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(20, 5, tasksPerProject, 200, "projectflow.queries.parallel=" + parallel);
+        projectDetailService = context.bean(ProjectDetailService.class);
+        projectId = context.getProjectId(2);
+        ownerId = context.getOwnerId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProjectDetail loadProjectDetail() {
+        return projectDetailService.loadProjectDetail(projectId, ownerId);
+    }
+}
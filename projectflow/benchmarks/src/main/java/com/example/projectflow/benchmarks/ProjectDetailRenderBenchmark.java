@@ -0,0 +1,179 @@
+package com.example.projectflow.benchmarks;
+
+import com.example.projectflow.model.Comment;
+import com.example.projectflow.model.Project;
+import com.example.projectflow.model.ProjectMember;
+import com.example.projectflow.model.Task;
+import com.example.projectflow.model.TaskStatus;
+import com.example.projectflow.model.User;
+import com.example.projectflow.service.KeysetPage;
+import com.example.projectflow.service.ProjectDetail;
+import com.example.projectflow.service.ProjectDetailService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.expression.ThymeleafEvaluationContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Полный рендеринг project-detail.html движком приложения на синтетической модели
+ * (как её собирает ProjectController для владельца проекта), без обращений к базе.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectDetailRenderBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int tasks;
+
+    @Param({"50"})
+    public int members;
+
+    private BenchmarkContext context;
+    private SpringTemplateEngine templateEngine;
+    private JakartaServletWebApplication application;
+    private MockServletContext servletContext;
+    private Map<String, Object> variables;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(0, 0, 0, 0);
+        templateEngine = context.bean(SpringTemplateEngine.class);
+        servletContext = new MockServletContext();
+        application = JakartaServletWebApplication.buildApplication(servletContext);
+        variables = model(ApplicationConversionService.getSharedInstance());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long render() {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/projects/1");
+        WebContext webContext = new WebContext(application.buildExchange(request, new MockHttpServletResponse()),
+                Locale.forLanguageTag("ru"), variables);
+        CountingWriter writer = new CountingWriter();
+        templateEngine.process("project-detail", webContext, writer);
+        return writer.count;
+    }
+
+    private Map<String, Object> model(ConversionService conversionService) {
+        LocalDateTime now = LocalDateTime.now();
+        Project project = new Project();
+        project.setId(1L);
+        project.setName("Большой проект");
+        project.setDescription("Синтетический проект для замера рендеринга");
+        project.setOwnerId(1L);
+
+        List<ProjectMember> memberships = new ArrayList<>();
+        for (int i = 1; i <= members; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setLogin("user" + i);
+            ProjectMember member = new ProjectMember(project, user, i == 1 ? "OWNER" : "MEMBER");
+            member.setId((long) i);
+            memberships.add(member);
+        }
+
+        TaskStatus[] statuses = TaskStatus.values();
+        int[] counts = new int[statuses.length];
+        List<Task> taskList = new ArrayList<>();
+        for (int i = 1; i <= tasks; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setName("Задача номер " + i + " с описанием средней длины");
+            task.setProject(project);
+            task.setAssignedMember(memberships.get(i % members));
+            task.setStatus(statuses[i % statuses.length]);
+            counts[task.getStatus().ordinal()]++;
+            taskList.add(task);
+        }
+        project.setPendingTasks(counts[TaskStatus.PENDING.ordinal()]);
+        project.setInProgressTasks(counts[TaskStatus.IN_PROGRESS.ordinal()]);
+        project.setDoneTasks(counts[TaskStatus.DONE.ordinal()]);
+
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i <= ProjectDetailService.COMMENTS_PAGE_SIZE; i++) {
+            Comment comment = new Comment();
+            comment.setId((long) (1000 - i));
+            comment.setText("Комментарий " + i + " — обсуждение задач проекта");
+            comment.setProject(project);
+            comment.setAuthor(memberships.get(i % members).getUser());
+            comment.setCreatedAt(now.minusMinutes(i));
+            comments.add(comment);
+        }
+        KeysetPage<Comment> commentsPage = KeysetPage.of(comments, ProjectDetailService.COMMENTS_PAGE_SIZE,
+                Comment::getCreatedAt, Comment::getId);
+        ProjectDetail detail = new ProjectDetail(project, commentsPage, memberships, taskList, memberships.get(0));
+
+        Map<String, Object> model = new HashMap<>();
+        model.put(ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+                new ThymeleafEvaluationContext(context.getContext(), conversionService));
+        model.put("project", detail.getProject());
+        model.put("comments", detail.getComments());
+        model.put("commentsPage", detail.getCommentsPage());
+        model.put("isLatestComments", true);
+        model.put("currentUserId", 1L);
+        model.put("isMember", detail.isMember());
+        model.put("members", detail.getMembers());
+        model.put("memberships", detail.getMemberships());
+        model.put("tasks", detail.getTasks());
+        return model;
+    }
+
+    // Ответ не накапливается в памяти: считаем только объём вывода
+    private static final class CountingWriter extends Writer {
+
+        private long count;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.projectflow.benchmarks;
+
+import com.example.projectflow.service.ProjectMemberService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка владельца проекта: вызывается почти каждым действием на странице проекта.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectMemberServiceBenchmark {
+
+    @Param({"100", "2000"})
+    public int projects;
+
+    private BenchmarkContext context;
+    private ProjectMemberService projectMemberService;
+    private Long projectId;
+    private Long ownerId;
+    private Long memberId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(20, projects, 0, 0);
+        projectMemberService = context.bean(ProjectMemberService.class);
+        projectId = context.getProjectId(projects / 2);
+        ownerId = context.getOwnerId();
+        memberId = context.getUserId(10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean isOwner() {
+        return projectMemberService.isOwner(projectId, ownerId);
+    }
+
+    @Benchmark
+    public boolean isOwnerForMember() {
+        return projectMemberService.isOwner(projectId, memberId);
+    }
+}
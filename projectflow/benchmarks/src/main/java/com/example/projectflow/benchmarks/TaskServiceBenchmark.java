@@ -0,0 +1,82 @@
+package com.example.projectflow.benchmarks;
+
+import com.example.projectflow.model.Task;
+import com.example.projectflow.model.TaskStatus;
+import com.example.projectflow.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение задач проекта и смена статуса всех задач проекта:
+ * одним массовым вызовом против цикла по одной задаче (транзакция на задачу).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    @Param({"100", "1000"})
+    public int tasksPerProject;
+
+    private BenchmarkContext context;
+    private TaskService taskService;
+    private Long projectId;
+    private List<Long> taskIds;
+    private TaskStatus nextStatus = TaskStatus.DONE;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(20, 5, tasksPerProject, 0);
+        taskService = context.bean(TaskService.class);
+        projectId = context.getProjectId(2);
+        taskIds = context.getTaskIds(projectId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Task> getTasksByProjectId() {
+        return taskService.getTasksByProjectId(projectId);
+    }
+
+    @Benchmark
+    public List<Long> updateStatusesBulk() {
+        return taskService.updateTaskStatuses(projectId, taskIds, toggle(), null);
+    }
+
+    @Benchmark
+    public void updateStatusesLoop(Blackhole blackhole) {
+        TaskStatus status = toggle();
+        for (Long taskId : taskIds) {
+            blackhole.consume(taskService.updateTaskStatus(taskId, status));
+        }
+    }
+
+    // Каждый вызов действительно меняет статус всех задач
+    private TaskStatus toggle() {
+        TaskStatus status = nextStatus;
+        nextStatus = status == TaskStatus.DONE ? TaskStatus.PENDING : TaskStatus.DONE;
+        return status;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.projectflow.benchmarks.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Задержки одного эндпоинта за одну ступень нагрузки. Хранит все замеры:
+ * ступень короткая, а точные перцентили важнее экономии памяти.
+ */
+class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private int errors;
+
+    synchronized void record(long nanos, boolean ok) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new Summary(size, errors, size / seconds,
+                millis(percentile(sorted, 50)), millis(percentile(sorted, 90)),
+                millis(percentile(sorted, 99)), millis(size == 0 ? 0 : sorted[size - 1]));
+    }
+
+    private static long percentile(long[] sorted, double percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percent / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    record Summary(int count, int errors, double throughput, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.projectflow.benchmarks.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Сценарий одного пользователя: регистрация и вход один раз, затем по кругу —
+ * главная, свой проект, задачи, комментарии, приглашение и вступление в чужой проект.
+ * Для сценария со всплеском входов есть отдельные циклы: только просмотр
+ * своего проекта и личной страницы или только повторные входы.
+ * У каждого пользователя своя cookie-сессия; редиректы не разворачиваются,
+ * чтобы каждый запрос замерялся отдельно.
+ */
+class LoadSession {
+
+    private static final AtomicLong USER_NUMBER = new AtomicLong();
+    private static final Pattern PROJECT_LINK = Pattern.compile("href=\"/projects/(\\d+)\"");
+    private static final Pattern ASSIGNEE_OPTION = Pattern.compile("name=\"assignedMemberId\"[^>]*>\\s*<option[^>]*value=\"(\\d+)\"");
+    private static final Pattern INVITE_CODE = Pattern.compile("/invite/([0-9a-f]{8})");
+
+    private final String baseUrl;
+    private Function<String, LatencyRecorder> recorders;
+    private final Queue<Invitation> invitations;
+    private final HttpClient client;
+    private final String login = "load" + System.nanoTime() + "_" + USER_NUMBER.incrementAndGet();
+
+    private final Set<Long> joinedProjects = new HashSet<>();
+
+    private Long projectId;
+    private String assigneeId;
+    private int iteration;
+
+    LoadSession(String baseUrl, Function<String, LatencyRecorder> recorders, Queue<Invitation> invitations) {
+        this.baseUrl = baseUrl;
+        this.recorders = recorders;
+        this.invitations = invitations;
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    // Пользователь уже зарегистрирован и вошёл: см. signUp()
+    void run(BooleanSupplier running) {
+        while (running.getAsBoolean()) {
+            iterate();
+        }
+    }
+
+    // Подготовленная сессия переиспользуется в нескольких замерах, каждый со своими счётчиками
+    void recordTo(Function<String, LatencyRecorder> recorders) {
+        this.recorders = recorders;
+    }
+
+    boolean signUp() {
+        get("GET /register", "/register");
+        boolean registered = isRedirect(post("POST /register", "/register",
+                Map.of("login", login, "passwordHash", "password", "confirmPassword", "password")));
+        get("GET /logout", "/logout");
+        boolean loggedIn = isRedirect(post("POST /login", "/login", Map.of("login", login, "password", "password")));
+        return registered && loggedIn;
+    }
+
+    boolean openProject() {
+        if (projectId == null) {
+            post("POST /projects/create", "/projects/create",
+                    Map.of("name", "Проект " + login, "description", "Нагрузочный тест"));
+            projectId = find(PROJECT_LINK, get("GET /projects", "/projects")).map(Long::valueOf).orElse(null);
+        }
+        return projectId != null;
+    }
+
+    void browse(BooleanSupplier running) {
+        while (running.getAsBoolean()) {
+            get("GET /projects/{id}", "/projects/" + projectId);
+            get("GET /dashboard", "/dashboard");
+        }
+    }
+
+    void logInRepeatedly(BooleanSupplier running) {
+        while (running.getAsBoolean()) {
+            post("POST /login", "/login", Map.of("login", login, "password", "password"));
+        }
+    }
+
+    private void iterate() {
+        iteration++;
+        get("GET /", "/");
+        get("GET /dashboard", "/dashboard");
+
+        if (!openProject()) {
+            return;
+        }
+
+        HttpResponse<String> detail = get("GET /projects/{id}", "/projects/" + projectId);
+        if (assigneeId == null) {
+            assigneeId = find(ASSIGNEE_OPTION, detail).orElse(null);
+        }
+        if (assigneeId != null) {
+            for (int i = 0; i < 3; i++) {
+                post("POST /projects/{id} createTask", "/projects/" + projectId,
+                        Map.of("action", "createTask", "taskName", "Задача " + iteration + "." + i, "assignedMemberId", assigneeId));
+            }
+        }
+        post("POST /projects/{id} createComment", "/projects/" + projectId,
+                Map.of("action", "createComment", "commentText", "Комментарий " + iteration));
+
+        // Приглашение в свой проект отдаём другим пользователям, сами вступаем по чужому.
+        // Вошедший пользователь вступает уже по GET /invite/{code} — как при переходе по ссылке
+        find(INVITE_CODE, postPage("POST /projects/{id}/invite", "/projects/" + projectId + "/invite", Map.of("maxUses", "1")))
+                .ifPresent(code -> invitations.offer(new Invitation(projectId, code)));
+        Invitation invitation = invitations.poll();
+        if (invitation != null && invitation.projectId().equals(projectId)) {
+            invitations.offer(invitation);
+        } else if (invitation != null && !joinedProjects.contains(invitation.projectId())) {
+            if (isRedirect(getRedirect("GET /invite/{code}", "/invite/" + invitation.code()))) {
+                joinedProjects.add(invitation.projectId());
+            }
+        }
+
+        get("GET /my-tasks", "/my-tasks");
+        get("GET /search", "/search?q=" + encode("задача"));
+    }
+
+    private HttpResponse<String> get(String endpoint, String path) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), false);
+    }
+
+    private HttpResponse<String> getRedirect(String endpoint, String path) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), true);
+    }
+
+    // Успешная отправка формы в приложении заканчивается редиректом, ответ 200 — форма с ошибкой
+    private HttpResponse<String> post(String endpoint, String path, Map<String, String> form) {
+        return send(endpoint, form(path, form), true);
+    }
+
+    private HttpResponse<String> postPage(String endpoint, String path, Map<String, String> form) {
+        return send(endpoint, form(path, form), false);
+    }
+
+    private HttpRequest.Builder form(String path, Map<String, String> form) {
+        StringJoiner body = new StringJoiner("&");
+        form.forEach((name, value) -> body.add(encode(name) + "=" + encode(value)));
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request, boolean expectRedirect) {
+        long started = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            // Ошибка соединения считается неуспешным запросом
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        boolean ok = expectRedirect ? isRedirect(response) : response != null && response.statusCode() < 400;
+        recorders.apply(endpoint).record(System.nanoTime() - started, ok);
+        return response;
+    }
+
+    record Invitation(Long projectId, String code) {
+    }
+
+    private static boolean isRedirect(HttpResponse<String> response) {
+        return response != null && response.statusCode() / 100 == 3;
+    }
+
+    private static Optional<String> find(Pattern pattern, HttpResponse<String> response) {
+        if (response == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = pattern.matcher(response.body());
+        return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
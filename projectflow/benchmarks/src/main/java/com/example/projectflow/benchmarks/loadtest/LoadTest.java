@@ -0,0 +1,232 @@
+package com.example.projectflow.benchmarks.loadtest;
+
+import com.example.projectflow.benchmarks.BenchmarkContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Нагрузочный прогон по HTTP: поднимает приложение на случайном порту с базой H2 в памяти
+ * (или бьёт во внешний сервер из -Dload.base-url), затем ступенями увеличивает число
+ * одновременных пользователей. Пользователи ступени регистрируются по одному до начала
+ * замера; в отчёт попадает, сколько сессий на самом деле работало. По каждой ступени печатает пропускную способность и
+ * перцентили задержки по эндпоинтам и пишет отчёт в JSON.
+ * <p>
+ * Сценарий login-burst (load.scenario): load.browsers пользователей смотрят свой проект
+ * и личную страницу — сначала одни, затем вместе с load.logins пользователями, которые
+ * входят снова и снова. Сравнивает p99 страниц без всплеска входов и со всплеском.
+ * <p>
+ * Параметры: load.scenario (mixed или login-burst), load.stages (число пользователей
+ * по ступеням, через запятую), load.browsers, load.logins, load.stage-seconds,
+ * load.warmup-seconds, load.base-url, load.report.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] stages = parseStages(System.getProperty("load.stages", "1,4,16,64"));
+        long stageSeconds = Long.getLong("load.stage-seconds", 15);
+        long warmupSeconds = Long.getLong("load.warmup-seconds", 5);
+        String report = System.getProperty("load.report", "target/load-report.json");
+        String externalUrl = System.getProperty("load.base-url");
+
+        BenchmarkContext app = null;
+        String baseUrl = externalUrl;
+        if (baseUrl == null) {
+            // Все виртуальные пользователи приходят с одного адреса — лимит попыток входа поднят
+            app = BenchmarkContext.start(0, 0, 0, 0,
+                    "spring.main.web-application-type=servlet",
+                    "server.port=0",
+                    "projectflow.auth.rate-limit.capacity=1000000",
+                    "projectflow.auth.rate-limit.refill-per-minute=1000000");
+            baseUrl = "http://localhost:" + app.getContext().getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            Map<String, Object> result = "login-burst".equals(System.getProperty("load.scenario"))
+                    ? runLoginBurst(baseUrl, stageSeconds, warmupSeconds)
+                    : runMixed(baseUrl, stages, stageSeconds, warmupSeconds);
+            result.put("baseUrl", baseUrl);
+
+            File file = new File(report);
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, result);
+            System.out.println("Отчёт: " + file.getAbsolutePath());
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private static Map<String, Object> runMixed(String baseUrl, int[] stages, long stageSeconds, long warmupSeconds)
+            throws InterruptedException {
+        Queue<LoadSession.Invitation> invitations = new ConcurrentLinkedQueue<>();
+        if (warmupSeconds > 0) {
+            System.out.printf("Прогрев: %d с, %d польз.%n", warmupSeconds, stages[0]);
+            runStage(prepare(baseUrl, stages[0], invitations, false), warmupSeconds);
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (int users : stages) {
+            List<LoadSession> sessions = prepare(baseUrl, users, invitations, false);
+            Map<String, LatencyRecorder.Summary> summaries = runStage(sessions, stageSeconds);
+            print("Ступень: " + sessions.size() + " из " + users + " польз., " + stageSeconds + " с", summaries);
+            Map<String, Object> stage = new LinkedHashMap<>();
+            stage.put("users", users);
+            stage.put("sessions", sessions.size());
+            stage.put("seconds", stageSeconds);
+            stage.put("endpoints", summaries);
+            results.add(stage);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scenario", "mixed");
+        result.put("stages", results);
+        return result;
+    }
+
+    /**
+     * Одни и те же подготовленные сессии просмотра замеряются дважды: без входов и на фоне входов.
+     */
+    private static Map<String, Object> runLoginBurst(String baseUrl, long seconds, long warmupSeconds)
+            throws InterruptedException {
+        int browserCount = Integer.getInteger("load.browsers", 16);
+        int loginCount = Integer.getInteger("load.logins", 16);
+        Queue<LoadSession.Invitation> invitations = new ConcurrentLinkedQueue<>();
+        List<LoadSession> browsers = prepare(baseUrl, browserCount, invitations, true);
+        List<LoadSession> logins = prepare(baseUrl, loginCount, invitations, false);
+
+        if (warmupSeconds > 0) {
+            System.out.printf("Прогрев: %d с, %d польз.%n", warmupSeconds, browsers.size());
+            measure(warmupSeconds, browsers, List.of());
+        }
+        Map<String, LatencyRecorder.Summary> quiet = measure(seconds, browsers, List.of());
+        print("Без входов: " + browsers.size() + " польз. смотрят страницы, " + seconds + " с", quiet);
+        Map<String, LatencyRecorder.Summary> burst = measure(seconds, browsers, logins);
+        print("Со всплеском: + " + logins.size() + " польз. входят повторно, " + seconds + " с", burst);
+
+        System.out.printf("%n%-32s %14s %14s%n", "p99 ms", "без входов", "со всплеском");
+        for (String endpoint : burst.keySet()) {
+            LatencyRecorder.Summary before = quiet.get(endpoint);
+            System.out.printf("%-32s %14s %14.2f%n", endpoint,
+                    before != null ? String.format("%.2f", before.p99Ms()) : "-", burst.get(endpoint).p99Ms());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scenario", "login-burst");
+        result.put("browsers", browsers.size());
+        result.put("logins", logins.size());
+        result.put("seconds", seconds);
+        result.put("withoutBurst", quiet);
+        result.put("withBurst", burst);
+        return result;
+    }
+
+    // По одному: одновременные регистрации сами упёрлись бы в очередь хэширования паролей
+    private static List<LoadSession> prepare(String baseUrl, int users, Queue<LoadSession.Invitation> invitations,
+                                             boolean withProject) {
+        List<LoadSession> ready = new ArrayList<>();
+        LatencyRecorder discarded = new LatencyRecorder();
+        for (int i = 0; i < users; i++) {
+            LoadSession session = new LoadSession(baseUrl, endpoint -> discarded, invitations);
+            if (session.signUp() && (!withProject || session.openProject())) {
+                ready.add(session);
+            }
+        }
+        if (ready.size() < users) {
+            System.err.printf("Подготовлено %d из %d пользователей%n", ready.size(), users);
+        }
+        return ready;
+    }
+
+    private static Map<String, LatencyRecorder.Summary> measure(long seconds, List<LoadSession> browsers,
+                                                                List<LoadSession> logins) throws InterruptedException {
+        Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+        Function<String, LatencyRecorder> recorder = endpoint -> recorders.computeIfAbsent(endpoint, key -> new LatencyRecorder());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        BooleanSupplier running = () -> System.nanoTime() < deadline;
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (LoadSession session : browsers) {
+                session.recordTo(recorder);
+                executor.submit(() -> session.browse(running));
+            }
+            for (LoadSession session : logins) {
+                session.recordTo(recorder);
+                executor.submit(() -> session.logInRepeatedly(running));
+            }
+        }
+        return summarize(recorders, started);
+    }
+
+    private static Map<String, LatencyRecorder.Summary> runStage(List<LoadSession> sessions, long seconds)
+            throws InterruptedException {
+        Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+        Function<String, LatencyRecorder> recorder = endpoint -> recorders.computeIfAbsent(endpoint, key -> new LatencyRecorder());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (LoadSession session : sessions) {
+                session.recordTo(recorder);
+                executor.submit(() -> {
+                    try {
+                        session.run(() -> System.nanoTime() < deadline);
+                    } catch (RuntimeException e) {
+                        System.err.println("Сценарий пользователя прерван: " + e);
+                    }
+                });
+            }
+        }
+        return summarize(recorders, started);
+    }
+
+    private static Map<String, LatencyRecorder.Summary> summarize(Map<String, LatencyRecorder> recorders, long started) {
+        double elapsed = (System.nanoTime() - started) / 1_000_000_000.0;
+        Map<String, LatencyRecorder.Summary> summaries = new TreeMap<>();
+        recorders.forEach((endpoint, recorder) -> summaries.put(endpoint, recorder.summarize(elapsed)));
+        return summaries;
+    }
+
+    private static void print(String title, Map<String, LatencyRecorder.Summary> summaries) {
+        System.out.printf("%n%s%n", title);
+        System.out.printf("%-32s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        int count = 0;
+        double throughput = 0;
+        for (Map.Entry<String, LatencyRecorder.Summary> entry : summaries.entrySet()) {
+            LatencyRecorder.Summary s = entry.getValue();
+            count += s.count();
+            throughput += s.throughput();
+            System.out.printf("%-32s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                    s.count(), s.errors(), s.throughput(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.maxMs());
+        }
+        System.out.printf("%-32s %8d %7s %9.1f%n", "всего", count, "", throughput);
+    }
+
+    private static int[] parseStages(String value) {
+        String[] parts = value.split(",");
+        int[] stages = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            stages[i] = Integer.parseInt(parts[i].trim());
+        }
+        return stages;
+    }
+}
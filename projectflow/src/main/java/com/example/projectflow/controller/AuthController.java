@@ -1,14 +1,21 @@
 package com.example.projectflow.controller;
 
 import com.example.projectflow.model.User;
+import com.example.projectflow.service.HashingRejectedException;
+import com.example.projectflow.service.LoginRateLimiter;
 import com.example.projectflow.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.example.projectflow.service.InviteService;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @Controller
 public class AuthController {
 
@@ -18,6 +25,9 @@ public class AuthController {
     @Autowired
     private InviteService inviteService;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     @GetMapping("/register")
     public String showRegisterForm(Model model) {
         model.addAttribute("user", new User());
@@ -27,7 +37,14 @@ public class AuthController {
     @PostMapping("/register")
     public String register(@ModelAttribute User user,
                         @RequestParam String confirmPassword,
-                        Model model, HttpSession session) {
+                        Model model, HttpSession session,
+                        HttpServletRequest request, HttpServletResponse response) {
+
+        if (!loginRateLimiter.tryAcquire(user.getLogin(), request.getRemoteAddr())) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            model.addAttribute("error", "Слишком много попыток, попробуйте позже");
+            return "auth/register";
+        }
 
         // === ИСПРАВЛЕНО: используем getPassword() ===
         if (!user.getPasswordHash().equals(confirmPassword)) {
@@ -51,7 +68,7 @@ public class AuthController {
                 }
             }
 
-            return "redirect:/";
+            return "redirect:/dashboard";
         } catch (RuntimeException e) {
             model.addAttribute("error", e.getMessage());
             return "auth/register";
@@ -67,9 +84,23 @@ public class AuthController {
     @PostMapping("/login")
     public String login(@RequestParam String login,
                         @RequestParam String password,
-                        Model model, HttpSession session) {
+                        Model model, HttpSession session,
+                        HttpServletRequest request, HttpServletResponse response) {
 
-        var authenticatedUser = userService.authenticate(login, password);
+        // Отсекаем перебор до обращения к базе
+        if (!loginRateLimiter.tryAcquire(login, request.getRemoteAddr())) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            model.addAttribute("error", "Слишком много попыток, попробуйте позже");
+            return "auth/login";
+        }
+
+        Optional<User> authenticatedUser;
+        try {
+            authenticatedUser = userService.authenticate(login, password);
+        } catch (HashingRejectedException e) {
+            model.addAttribute("error", e.getMessage());
+            return "auth/login";
+        }
 
         if (authenticatedUser.isPresent()) {
             session.setAttribute("userId", authenticatedUser.get().getId());
@@ -86,7 +117,7 @@ public class AuthController {
                 }
             }
 
-            return "redirect:/";
+            return "redirect:/dashboard";
         } else {
             model.addAttribute("error", "Неверный логин или пароль");
             return "auth/login";
@@ -0,0 +1,65 @@
+package com.example.projectflow.controller;
+
+import com.example.projectflow.model.TaskStatus;
+import com.example.projectflow.repository.AssignedTaskRow;
+import com.example.projectflow.service.DashboardService;
+import com.example.projectflow.service.KeysetPage;
+import com.example.projectflow.service.TaskService;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+@Controller
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @GetMapping("/dashboard")
+    public String dashboard(HttpSession session, Model model) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return "redirect:/login";
+        }
+
+        model.addAttribute("dashboard", dashboardService.getDashboard(userId));
+        model.addAttribute("currentUserId", userId);
+        return "dashboard";
+    }
+
+    /**
+     * Задачи пользователя во всех проектах с фильтром по статусам
+     */
+    @GetMapping("/my-tasks")
+    public String myTasks(@RequestParam(name = "status", required = false) List<TaskStatus> statuses,
+                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+                          @RequestParam(required = false) Long afterId,
+                          HttpSession session, Model model) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return "redirect:/login";
+        }
+
+        EnumSet<TaskStatus> selected = (statuses == null || statuses.isEmpty())
+                ? EnumSet.noneOf(TaskStatus.class)
+                : EnumSet.copyOf(statuses);
+        KeysetPage<AssignedTaskRow> page = taskService.getMyTasksPage(userId, selected, after, afterId);
+        model.addAttribute("tasks", page.getItems());
+        model.addAttribute("page", page);
+        model.addAttribute("selectedStatuses", selected);
+        model.addAttribute("isFirstPage", after == null || afterId == null);
+        model.addAttribute("currentUserId", userId);
+        return "my-tasks";
+    }
+}
@@ -6,7 +6,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import com.example.projectflow.service.ProjectMemberService;
 
 @Controller
 public class InviteController {
@@ -14,9 +13,6 @@ public class InviteController {
     @Autowired
     private InviteService inviteService;
 
-    @Autowired
-    private ProjectMemberService projectMemberService;
-
 
     /**
      * Страница приглашения (просмотр)
@@ -36,10 +32,8 @@ public class InviteController {
                 session.setAttribute("pendingInviteCode", code);
                 return "redirect:/login";
             } else {
-                // Если вошёл — сразу добавляем в проект
-                projectMemberService.addMember(invite.getProject().getId(), userId, "MEMBER");
-                // Удаляем инвайт
-                inviteService.deleteInvite(code);
+                // Если вошёл — сразу добавляем в проект (списывается одно использование)
+                inviteService.acceptInvite(code, userId);
                 return "redirect:/projects";
             }
         } catch (RuntimeException e) {
@@ -1,29 +1,59 @@
 package com.example.projectflow.controller;
 
 import com.example.projectflow.model.Project;
-import com.example.projectflow.model.User;
 import com.example.projectflow.model.Task;
 import com.example.projectflow.service.TaskService;
 import com.example.projectflow.model.TaskStatus;
 import com.example.projectflow.service.ProjectMemberService;
 import com.example.projectflow.service.ProjectService;
-import com.example.projectflow.service.UserService;
 import com.example.projectflow.service.CommentService;
-import com.example.projectflow.model.Comment;
+import com.example.projectflow.service.KeysetPage;
+import com.example.projectflow.service.ProjectDetail;
+import com.example.projectflow.service.ProjectDetailService;
+import com.example.projectflow.service.ProjectEventBroadcaster;
+import com.example.projectflow.service.ProjectExportService;
+import com.example.projectflow.service.TaskImportReport;
+import com.example.projectflow.service.TaskImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.example.projectflow.service.InviteService;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 @Controller
 public class ProjectController {
 
+    /**
+     * Значения action формы POST /projects/{id}; по ним размечаются метрики запросов.
+     */
+    public static final Set<String> PROJECT_ACTIONS = Set.of(
+            "createTask", "markDone", "markInProgress", "deleteTask", "createComment", "deleteComment");
+
     @Autowired
     private ProjectService projectService;
 
@@ -33,21 +63,37 @@ public class ProjectController {
     @Autowired
     private ProjectMemberService projectMemberService;
 
-    @Autowired
-    private UserService userService;
-
     @Autowired
     private TaskService taskService;
 
     @Autowired
     private CommentService commentService;
 
+    @Autowired
+    private ProjectDetailService projectDetailService;
+
+    @Autowired
+    private ProjectEventBroadcaster projectEventBroadcaster;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private ProjectExportService projectExportService;
+
+    @Value("${projectflow.export.timeout-ms:1800000}")
+    private long exportTimeoutMillis;
+
     @GetMapping("/")
-    public String index(HttpSession session, Model model) {
+    public String index(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+                        @RequestParam(required = false) Long afterId,
+                        HttpSession session, Model model) {
         Long userId = (Long) session.getAttribute("userId");
 
-        List<Project> allProjects = projectService.getAllProjects();
-        model.addAttribute("projects", allProjects);
+        KeysetPage<Project> page = projectService.getProjectsPage(after, afterId);
+        model.addAttribute("projects", page.getItems());
+        model.addAttribute("page", page);
+        model.addAttribute("isFirstPage", after == null || afterId == null);
         model.addAttribute("currentUserId", userId); // ← Вот это добавили
 
         return "index";
@@ -90,35 +136,51 @@ public class ProjectController {
     }
 
     @GetMapping("/projects/{id}")
-    public String projectDetail(@PathVariable Long id, HttpSession session, Model model) {
-        Project project = projectService.getProjectById(id).orElseThrow(() -> new RuntimeException("Project not found"));
+    public String projectDetail(@PathVariable Long id,
+                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime commentsBefore,
+                                @RequestParam(required = false) Long commentsBeforeId,
+                                HttpSession session, Model model) {
         Long userId = (Long) session.getAttribute("userId");
 
-        List<Comment> comments = commentService.getCommentsByProjectId(id);
+        ProjectDetail detail = projectDetailService.loadProjectDetail(id, userId, commentsBefore, commentsBeforeId);
 
-        model.addAttribute("project", project);
-        model.addAttribute("comments", comments);
+        model.addAttribute("project", detail.getProject());
+        model.addAttribute("comments", detail.getComments());
+        model.addAttribute("commentsPage", detail.getCommentsPage());
+        model.addAttribute("isLatestComments", commentsBefore == null || commentsBeforeId == null);
 
         if (userId != null) {
-            boolean isMember = projectMemberService.isOwner(id, userId) || projectMemberService.findByProjectIdAndUserId(id, userId) != null;
-
             model.addAttribute("currentUserId", userId);
-            model.addAttribute("isMember", isMember);
-
-            if (isMember) {
-                List<User> members = projectMemberService.getProjectMembers(id);
-                List<Task> tasks = taskService.getTasksByProjectId(id);
-                List<User> allUsers = userService.getAllUsers();
+            model.addAttribute("isMember", detail.isMember());
 
-                model.addAttribute("members", members);
-                model.addAttribute("tasks", tasks);
-                model.addAttribute("allUsers", allUsers);
+            if (detail.isMember()) {
+                model.addAttribute("members", detail.getMembers());
+                model.addAttribute("memberships", detail.getMemberships());
+                model.addAttribute("tasks", detail.getTasks());
             }
         }
 
         return "project-detail";
     }
 
+    /**
+     * Поток изменений проекта (SSE) для участников
+     */
+    @GetMapping(path = "/projects/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> projectEvents(@PathVariable Long id, HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null || !projectMemberService.isMember(id, userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        SseEmitter emitter = projectEventBroadcaster.subscribe(id, userId);
+        // Участника могли удалить между проверкой и подпиской — тогда событие об этом уже прошло мимо
+        if (!projectMemberService.isMember(id, userId)) {
+            projectEventBroadcaster.disconnect(id, userId);
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
     @PostMapping("/projects/{id}/add-member")
     public String addMember(@PathVariable Long id,
                             @RequestParam Long userId,
@@ -134,7 +196,9 @@ public class ProjectController {
         }
 
         try {
-            projectMemberService.addMember(id, userId, "MEMBER");
+            if (!projectMemberService.addMember(id, userId, "MEMBER")) {
+                redirectAttributes.addFlashAttribute("error", "User is already a member of this project");
+            }
         } catch (RuntimeException e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
         }
@@ -255,7 +319,7 @@ public class ProjectController {
                 return "redirect:/projects/" + id;
             }
 
-            taskService.deleteTask(taskId);
+            taskService.deleteTask(id, taskId);
             return "redirect:/projects/" + id;
         }
 
@@ -277,8 +341,111 @@ public class ProjectController {
     }
 
 
+    /**
+     * Смена статуса сразу у нескольких задач. Права проверяются один раз на проект:
+     * владелец меняет любые задачи, участник — только назначенные ему.
+     */
+    @PostMapping("/projects/{id}/tasks/status")
+    public String updateTaskStatuses(@PathVariable Long id,
+                                     @RequestParam(required = false) List<Long> taskIds,
+                                     @RequestParam TaskStatus status,
+                                     HttpSession session, RedirectAttributes redirectAttributes) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return "redirect:/login";
+        }
+
+        if (!projectMemberService.isMember(id, userId)) {
+            return "redirect:/projects/" + id;
+        }
+
+        if (taskIds == null || taskIds.isEmpty()) {
+            redirectAttributes.addFlashAttribute("error", "Не выбрано ни одной задачи");
+            return "redirect:/projects/" + id;
+        }
+
+        Long assigneeUserId = projectMemberService.isOwner(id, userId) ? null : userId;
+        List<Long> updated = taskService.updateTaskStatuses(id, taskIds, status, assigneeUserId);
+        redirectAttributes.addFlashAttribute("message", "Обновлено задач: " + updated.size());
+        return "redirect:/projects/" + id;
+    }
+
+    /**
+     * Импорт задач из тела запроса (text/csv или application/json), только для владельца.
+     * Тело читается потоком, в ответе — число импортированных задач и ошибки по строкам.
+     */
+    @PostMapping(path = "/projects/{id}/tasks/import",
+            consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TaskImportReport> importTasks(@PathVariable Long id,
+                                                        HttpServletRequest request,
+                                                        HttpSession session) throws IOException {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null || !projectMemberService.isOwner(id, userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        TaskImportService.Format format = MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? TaskImportService.Format.JSON
+                : TaskImportService.Format.CSV;
+        return ResponseEntity.ok(taskImportService.importTasks(id, request.getInputStream(), format));
+    }
+
+    /**
+     * Выгрузка проекта для участников: format=json — весь проект,
+     * format=csv — одна таблица (part=tasks|members|comments). Ответ пишется потоком.
+     */
+    @GetMapping("/projects/{id}/export")
+    public ResponseEntity<StreamingResponseBody> exportProject(@PathVariable Long id,
+                                                               @RequestParam(defaultValue = "json") String format,
+                                                               @RequestParam(defaultValue = "tasks") String part,
+                                                               HttpSession session, HttpServletRequest request) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null || !projectMemberService.isMember(id, userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        extendAsyncTimeout(request, exportTimeoutMillis);
+
+        if ("csv".equalsIgnoreCase(format)) {
+            ProjectExportService.Part csvPart;
+            try {
+                csvPart = ProjectExportService.Part.valueOf(part.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            String fileName = "project-" + id + "-" + csvPart.name().toLowerCase(Locale.ROOT) + ".csv";
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .body(out -> projectExportService.writeCsv(id, csvPart, out));
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("project-" + id + ".json").build().toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> projectExportService.writeJson(id, out));
+    }
+
+    /**
+     * Свой таймаут для потокового ответа вместо общего (у Tomcat — 30 с):
+     * выставляется непосредственно перед переходом запроса в асинхронный режим.
+     */
+    private static void extendAsyncTimeout(HttpServletRequest request, long timeoutMillis) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ProjectController.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+                            asyncWebRequest.setTimeout(timeoutMillis);
+                        }
+                    }
+                });
+    }
+
     @PostMapping("/projects/{id}/invite")
-    public String createInvite(@PathVariable Long id, HttpSession session, Model model) {
+    public String createInvite(@PathVariable Long id,
+                               @RequestParam(defaultValue = "1") int maxUses,
+                               HttpSession session, Model model) {
         Long userId = (Long) session.getAttribute("userId");
         if (userId == null) {
             return "redirect:/login";
@@ -288,25 +455,25 @@ public class ProjectController {
             return "redirect:/projects/" + id;
         }
 
-        String code = inviteService.createInvite(id, userId, 24); // на 24 часа
+        int uses = Math.max(1, Math.min(maxUses, InviteService.MAX_USES));
+        // Запись — в потоке запроса: отмена параллельной задачи не должна обрывать транзакцию.
+        // Чтения страницы параллелит сам loadProjectDetail
+        String code = inviteService.createInvite(id, userId, 24, uses); // на 24 часа
+        ProjectDetail detail = projectDetailService.loadProjectDetail(id, userId);
         String inviteLink = "http://localhost:8080/invite/" + code;
 
-        // Загружаем данные проекта снова
-        Project project = projectService.getProjectById(id).orElseThrow(() -> new RuntimeException("Project not found"));
-        List<User> members = projectMemberService.getProjectMembers(id);
-        List<Task> tasks = taskService.getTasksByProjectId(id);
-        List<User> allUsers = userService.getAllUsers();
-        List<Comment> comments = commentService.getCommentsByProjectId(id);
-
-        model.addAttribute("project", project);
-        model.addAttribute("members", members);
-        model.addAttribute("tasks", tasks);
-        model.addAttribute("allUsers", allUsers);
-        model.addAttribute("comments", comments);
+        model.addAttribute("project", detail.getProject());
+        model.addAttribute("members", detail.getMembers());
+        model.addAttribute("memberships", detail.getMemberships());
+        model.addAttribute("tasks", detail.getTasks());
+        model.addAttribute("comments", detail.getComments());
+        model.addAttribute("commentsPage", detail.getCommentsPage());
+        model.addAttribute("isLatestComments", true);
         model.addAttribute("currentUserId", userId);
         model.addAttribute("isMember", true);
         model.addAttribute("isOwner", true);
         model.addAttribute("inviteLink", inviteLink); // ← Передаём ссылку в шаблон
+        model.addAttribute("inviteMaxUses", uses);
 
         return "project-detail";
     }
@@ -0,0 +1,30 @@
+package com.example.projectflow.controller;
+
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Метрика http.server.requests с дополнительным тегом action: у POST /projects/{id}
+ * один маршрут обслуживает несколько разных действий, их задержки нужно видеть раздельно.
+ */
+@Component
+public class RouteObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String NO_ACTION = "none";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and("action", action(context.getCarrier()));
+    }
+
+    /**
+     * Только известные значения: произвольный параметр запроса раздул бы число временных рядов.
+     */
+    static String action(HttpServletRequest request) {
+        String action = request.getParameter("action");
+        return action != null && ProjectController.PROJECT_ACTIONS.contains(action) ? action : NO_ACTION;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.projectflow.controller;
+
+import com.example.projectflow.service.SearchService;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Controller
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    /**
+     * Поиск по проектам, задачам и комментариям
+     */
+    @GetMapping("/search")
+    public String search(@RequestParam(defaultValue = "") String q,
+                         @RequestParam(defaultValue = "0") int page,
+                         HttpSession session, Model model) {
+        Long userId = (Long) session.getAttribute("userId");
+
+        model.addAttribute("q", q);
+        model.addAttribute("results", searchService.search(q, userId, page));
+        model.addAttribute("currentUserId", userId);
+        return "search";
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.projectflow.controller;
+
+import com.example.projectflow.service.RequestStatements;
+import com.example.projectflow.service.StatementBudget;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Число SQL-операторов и время в JDBC на один запрос, по маршруту и action:
+ * projectflow.request.statements и projectflow.request.jdbc.
+ * Число операторов сверяется с бюджетом маршрута и остаётся в атрибуте запроса STATEMENT_COUNT.
+ * Асинхронные запросы (потоковая выгрузка, SSE) учитываются целиком: счётчик переносится
+ * в поток асинхронной задачи и записывается при завершении запроса.
+ */
+@Component
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT = StatementMetricsFilter.class.getName() + ".STATEMENT_COUNT";
+
+    private static final String STATEMENTS = StatementMetricsFilter.class.getName() + ".STATEMENTS";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StatementBudget statementBudget;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatements statements = (RequestStatements) request.getAttribute(STATEMENTS);
+        if (statements == null) {
+            statements = RequestStatements.begin();
+            request.setAttribute(STATEMENTS, statements);
+            carryIntoAsyncTasks(request, statements);
+        } else {
+            RequestStatements.resume(statements);
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStatements.end();
+            if (isAsyncStarted(request)) {
+                recordOnCompletion(request, statements);
+            } else {
+                complete(request, statements);
+            }
+        }
+        if (isAsyncStarted(request)) {
+            return;
+        }
+        // Только после успешной обработки: исключение запроса важнее превышения бюджета
+        statementBudget.check(route(request), statements);
+    }
+
+    // Задачи Callable и StreamingResponseBody выполняются в другом потоке
+    private static void carryIntoAsyncTasks(HttpServletRequest request, RequestStatements statements) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(STATEMENTS,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void preProcess(NativeWebRequest webRequest, Callable<T> task) {
+                        RequestStatements.resume(statements);
+                    }
+
+                    @Override
+                    public <T> void postProcess(NativeWebRequest webRequest, Callable<T> task, Object result) {
+                        RequestStatements.end();
+                    }
+                });
+    }
+
+    // Обычно запрос ещё раз проходит фильтр при async dispatch; на случай завершения без него
+    private void recordOnCompletion(HttpServletRequest request, RequestStatements statements) {
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                complete(request, statements);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    // Записывается один раз на запрос, сколько бы раз он ни проходил фильтр
+    private void complete(HttpServletRequest request, RequestStatements statements) {
+        if (request.getAttribute(STATEMENT_COUNT) != null) {
+            return;
+        }
+        request.setAttribute(STATEMENT_COUNT, statements.getCount());
+        record(request, statements);
+    }
+
+    private void record(HttpServletRequest request, RequestStatements statements) {
+        Tags tags = Tags.of(
+                "method", request.getMethod(),
+                "uri", route(request),
+                "action", RouteObservationConvention.action(request));
+        DistributionSummary.builder("projectflow.request.statements")
+                .baseUnit("statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statements.getCount());
+        Timer.builder("projectflow.request.jdbc")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statements.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
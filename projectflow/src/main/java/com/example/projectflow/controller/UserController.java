@@ -0,0 +1,34 @@
+package com.example.projectflow.controller;
+
+import com.example.projectflow.service.UserLoginIndex;
+import com.example.projectflow.service.UserService;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@Controller
+public class UserController {
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Поиск пользователей по началу логина (для формы добавления участника)
+     */
+    @GetMapping("/users/search")
+    public ResponseEntity<List<UserLoginIndex.Entry>> searchUsers(@RequestParam(defaultValue = "") String q,
+                                                                  HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(userService.searchByLoginPrefix(q));
+    }
+}
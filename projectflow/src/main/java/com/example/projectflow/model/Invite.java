@@ -1,17 +1,21 @@
 package com.example.projectflow.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "invites")
+@Table(name = "invites", indexes = {
+        @Index(name = "idx_invites_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_invites_remaining_uses", columnList = "remaining_uses")
+})
 public class Invite {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
+    @Column(nullable = false, unique = true)
     private String code; // уникальный код
 
     @Column(name = "expires_at", nullable = false)
@@ -20,6 +24,15 @@ public class Invite {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    @ColumnDefault("1")
+    @Column(name = "max_uses", nullable = false)
+    private int maxUses = 1;
+
+    // Уменьшается одним условным UPDATE при каждом принятии приглашения
+    @ColumnDefault("1")
+    @Column(name = "remaining_uses", nullable = false)
+    private int remainingUses = 1;
+
     @ManyToOne
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
@@ -66,6 +79,22 @@ public class Invite {
         this.createdAt = createdAt;
     }
 
+    public int getMaxUses() {
+        return maxUses;
+    }
+
+    public void setMaxUses(int maxUses) {
+        this.maxUses = maxUses;
+    }
+
+    public int getRemainingUses() {
+        return remainingUses;
+    }
+
+    public void setRemainingUses(int remainingUses) {
+        this.remainingUses = remainingUses;
+    }
+
     public Project getProject() {
         return project;
     }
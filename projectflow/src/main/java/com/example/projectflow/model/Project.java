@@ -1,11 +1,17 @@
 package com.example.projectflow.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Where;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        @Index(name = "idx_projects_created_at_id", columnList = "created_at, id")
+})
+// Удалённые проекты не видны ни одному запросу к сущности, строки стирает ProjectPurger
+@Where(clause = "deleted = false")
 public class Project {
 
     @Id
@@ -24,6 +30,23 @@ public class Project {
     @Column(name = "owner_id", nullable = false)
     private Long ownerId;
 
+    // Счётчики задач по статусам меняются только запросами TaskService, не сохранением сущности
+    @ColumnDefault("0")
+    @Column(name = "pending_tasks", nullable = false, insertable = false, updatable = false)
+    private int pendingTasks;
+
+    @ColumnDefault("0")
+    @Column(name = "in_progress_tasks", nullable = false, insertable = false, updatable = false)
+    private int inProgressTasks;
+
+    @ColumnDefault("0")
+    @Column(name = "done_tasks", nullable = false, insertable = false, updatable = false)
+    private int doneTasks;
+
+    @ColumnDefault("false")
+    @Column(name = "deleted", nullable = false, insertable = false, updatable = false)
+    private boolean deleted;
+
     public Project() {
         this.createdAt = LocalDateTime.now();
     }
@@ -67,4 +90,41 @@ public class Project {
     public void setOwnerId(Long ownerId) {
         this.ownerId = ownerId;
     }
-}
\ No newline at end of file
+
+    public int getPendingTasks() {
+        return pendingTasks;
+    }
+
+    public void setPendingTasks(int pendingTasks) {
+        this.pendingTasks = pendingTasks;
+    }
+
+    public int getInProgressTasks() {
+        return inProgressTasks;
+    }
+
+    public void setInProgressTasks(int inProgressTasks) {
+        this.inProgressTasks = inProgressTasks;
+    }
+
+    public int getDoneTasks() {
+        return doneTasks;
+    }
+
+    public void setDoneTasks(int doneTasks) {
+        this.doneTasks = doneTasks;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public int getTotalTasks() {
+        return pendingTasks + inProgressTasks + doneTasks;
+    }
+
+    public int getDonePercent() {
+        int total = getTotalTasks();
+        return total == 0 ? 0 : doneTasks * 100 / total;
+    }
+}
@@ -3,7 +3,11 @@ package com.example.projectflow.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "project_members")
+@Table(name = "project_members", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_project_members_project_user", columnNames = {"project_id", "user_id"})
+}, indexes = {
+        @Index(name = "idx_project_members_user_id", columnList = "user_id")
+})
 public class ProjectMember {
 
     @Id
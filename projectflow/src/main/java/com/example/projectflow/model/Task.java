@@ -5,7 +5,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_assigned_member_status", columnList = "assigned_member_id, status"),
+        @Index(name = "idx_tasks_project_id", columnList = "project_id")
+})
 public class Task {
 
     @Id
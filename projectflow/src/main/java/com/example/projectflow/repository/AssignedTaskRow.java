@@ -0,0 +1,17 @@
+package com.example.projectflow.repository;
+
+import com.example.projectflow.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Задача, назначенная пользователю, вместе с названием проекта.
+ */
+public interface AssignedTaskRow {
+    Long getId();
+    String getName();
+    TaskStatus getStatus();
+    LocalDateTime getCreatedAt();
+    Long getProjectId();
+    String getProjectName();
+}
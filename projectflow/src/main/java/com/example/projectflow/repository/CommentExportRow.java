@@ -0,0 +1,13 @@
+package com.example.projectflow.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция комментария для экспорта.
+ */
+public interface CommentExportRow {
+    Long getId();
+    String getAuthor();
+    String getText();
+    LocalDateTime getCreatedAt();
+}
@@ -1,9 +1,59 @@
 package com.example.projectflow.repository;
 
 import com.example.projectflow.model.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByProjectId(Long projectId);
-}
\ No newline at end of file
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.project.id = :projectId " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findLatestWithAuthor(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.project.id = :projectId " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findOlderWithAuthor(@Param("projectId") Long projectId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query("SELECT c.id AS id, p.id AS projectId, p.name AS title, c.text AS text FROM Comment c JOIN c.project p WHERE c.id IN :ids")
+    List<SearchRow> findSearchRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.id AS id, c.text AS text, a.login AS authorLogin, c.createdAt AS createdAt, " +
+            "p.id AS projectId, p.name AS projectName " +
+            "FROM Comment c JOIN c.author a JOIN c.project p " +
+            "WHERE p.id IN (SELECT m.project.id FROM ProjectMember m WHERE m.user.id = :userId) AND p.deleted = false " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<RecentCommentRow> findRecentInUserProjects(@Param("userId") Long userId, Pageable pageable);
+
+    // Очистка удалённого проекта: одна пачка — одна короткая транзакция
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM comments WHERE id IN (" +
+            "SELECT id FROM comments WHERE project_id = :projectId LIMIT :limit)", nativeQuery = true)
+    int deleteBatchByProjectId(@Param("projectId") Long projectId, @Param("limit") int limit);
+
+    // Потоковое чтение для экспорта; вызывать внутри транзакции и закрывать поток
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + TaskRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id AS id, a.login AS author, c.text AS text, c.createdAt AS createdAt " +
+            "FROM Comment c JOIN c.author a WHERE c.project.id = :projectId ORDER BY c.createdAt, c.id")
+    Stream<CommentExportRow> streamForExport(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,18 @@
+package com.example.projectflow.repository;
+
+/**
+ * Проект пользователя для личной страницы: роль, счётчики задач и число открытых задач пользователя.
+ */
+public interface DashboardProjectRow {
+    Long getProjectId();
+    String getName();
+    String getRole();
+    int getPendingTasks();
+    int getInProgressTasks();
+    int getDoneTasks();
+    long getMyOpenTasks();
+
+    default int getOpenTasks() {
+        return getPendingTasks() + getInProgressTasks();
+    }
+}
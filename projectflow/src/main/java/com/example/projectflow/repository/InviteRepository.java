@@ -2,9 +2,37 @@ package com.example.projectflow.repository;
 
 import com.example.projectflow.model.Invite;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface InviteRepository extends JpaRepository<Invite, Long> {
-    Optional<Invite> findByCode(String code);
+    // Приглашения в удалённый проект считаются несуществующими
+    @Query("SELECT i FROM Invite i JOIN i.project p WHERE i.code = :code AND p.deleted = false")
+    Optional<Invite> findByCode(@Param("code") String code);
     void deleteByCode(String code);
-}
\ No newline at end of file
+
+    // Списывает одно использование; 0 — приглашение исчерпано или истекло
+    @Modifying
+    @Query("UPDATE Invite i SET i.remainingUses = i.remainingUses - 1 " +
+            "WHERE i.code = :code AND i.remainingUses > 0 AND i.expiresAt > :now")
+    int redeem(@Param("code") String code, @Param("now") LocalDateTime now);
+
+    // Просроченные и исчерпанные; одна пачка — одна короткая транзакция
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM invites WHERE id IN (" +
+            "SELECT id FROM invites WHERE expires_at < :now OR remaining_uses <= 0 LIMIT :limit)",
+            nativeQuery = true)
+    int deleteUnusableBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM invites WHERE id IN (" +
+            "SELECT id FROM invites WHERE project_id = :projectId LIMIT :limit)", nativeQuery = true)
+    int deleteBatchByProjectId(@Param("projectId") Long projectId, @Param("limit") int limit);
+}
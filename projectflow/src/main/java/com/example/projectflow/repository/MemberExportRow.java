@@ -0,0 +1,10 @@
+package com.example.projectflow.repository;
+
+/**
+ * Проекция участника для экспорта.
+ */
+public interface MemberExportRow {
+    Long getUserId();
+    String getLogin();
+    String getRole();
+}
@@ -0,0 +1,9 @@
+package com.example.projectflow.repository;
+
+/**
+ * Проекция участника проекта: ID записи project_members и логин пользователя.
+ */
+public interface MemberLogin {
+    Long getMemberId();
+    String getLogin();
+}
@@ -0,0 +1,10 @@
+package com.example.projectflow.repository;
+
+/**
+ * Проекция членства: только идентификаторы и роль, без загрузки сущностей.
+ */
+public interface MembershipRow {
+    Long getProjectId();
+    Long getUserId();
+    String getRole();
+}
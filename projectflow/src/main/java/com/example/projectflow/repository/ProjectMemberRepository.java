@@ -1,13 +1,68 @@
 package com.example.projectflow.repository;
 
+import com.example.projectflow.model.Project;
 import com.example.projectflow.model.ProjectMember;
+import com.example.projectflow.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Long> {
     List<ProjectMember> findByProjectId(Long projectId);
+
+    @Query("SELECT m FROM ProjectMember m JOIN FETCH m.user WHERE m.project.id = :projectId ORDER BY m.id")
+    List<ProjectMember> findWithUserByProjectId(@Param("projectId") Long projectId);
+
+    // Проверка и вставка одним оператором: 0 — участник уже есть (уникальный ключ project_id, user_id)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO project_members (project_id, user_id, role) VALUES (:projectId, :userId, :role) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("projectId") Long projectId, @Param("userId") Long userId, @Param("role") String role);
+
+    @Query("SELECT m.project.id AS projectId, m.user.id AS userId, m.role AS role FROM ProjectMember m " +
+            "WHERE m.project.deleted = false")
+    List<MembershipRow> findAllMemberships();
+
+    @Query("SELECT m.id AS memberId, u.login AS login FROM ProjectMember m JOIN m.user u WHERE m.project.id = :projectId")
+    List<MemberLogin> findMemberLoginsByProjectId(@Param("projectId") Long projectId);
+
+    // Проекты пользователя со счётчиками и числом его незавершённых задач — один запрос
+    @Query("SELECT p.id AS projectId, p.name AS name, m.role AS role, p.pendingTasks AS pendingTasks, " +
+            "p.inProgressTasks AS inProgressTasks, p.doneTasks AS doneTasks, " +
+            "(SELECT COUNT(t) FROM Task t WHERE t.assignedMember = m AND t.status <> :done) AS myOpenTasks " +
+            "FROM ProjectMember m JOIN m.project p WHERE m.user.id = :userId AND p.deleted = false ORDER BY p.name, p.id")
+    List<DashboardProjectRow> findDashboardProjects(@Param("userId") Long userId,
+                                                    @Param("done") TaskStatus done);
+
+    // Потоковое чтение для экспорта; вызывать внутри транзакции и закрывать поток
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + TaskRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.id AS userId, u.login AS login, m.role AS role " +
+            "FROM ProjectMember m JOIN m.user u WHERE m.project.id = :projectId ORDER BY m.id")
+    Stream<MemberExportRow> streamForExport(@Param("projectId") Long projectId);
     List<ProjectMember> findByUserId(Long userId);
+
+    @Query("SELECT p FROM ProjectMember m JOIN m.project p WHERE m.user.id = :userId AND p.deleted = false ORDER BY p.id")
+    List<Project> findProjectsByUserId(@Param("userId") Long userId);
+
+    // Очистка удалённого проекта: одна пачка — одна короткая транзакция
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM project_members WHERE id IN (" +
+            "SELECT id FROM project_members WHERE project_id = :projectId LIMIT :limit)", nativeQuery = true)
+    int deleteBatchByProjectId(@Param("projectId") Long projectId, @Param("limit") int limit);
     void deleteByProjectIdAndUserId(Long projectId, Long userId);
     boolean existsByProjectIdAndUserId(Long projectId, Long userId);
     Optional<ProjectMember> findByProjectIdAndUserId(Long projectId, Long userId);
@@ -1,9 +1,80 @@
 package com.example.projectflow.repository;
 
 import com.example.projectflow.model.Project;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findByOwnerId(Long ownerId);
-}
\ No newline at end of file
+
+    List<Project> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    @Query("SELECT p FROM Project p " +
+            "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Project> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.id AS projectId, p.name AS title, p.description AS text FROM Project p WHERE p.id IN :ids")
+    List<SearchRow> findSearchRows(@Param("ids") Collection<Long> ids);
+
+    // Атомарный сдвиг счётчиков задач (строка проекта блокируется до конца транзакции);
+    // ниже нуля не уходят, даже если счётчики ещё не пересчитаны
+    @Modifying
+    @Query("UPDATE Project p SET p.pendingTasks = greatest(0, p.pendingTasks + :pending), " +
+            "p.inProgressTasks = greatest(0, p.inProgressTasks + :inProgress), " +
+            "p.doneTasks = greatest(0, p.doneTasks + :done) " +
+            "WHERE p.id = :projectId")
+    int adjustTaskCounters(@Param("projectId") Long projectId,
+                           @Param("pending") int pending,
+                           @Param("inProgress") int inProgress,
+                           @Param("done") int done);
+
+    // Мгновенное скрытие проекта; 0 — проекта нет или он уже удалён
+    @Modifying
+    @Query(value = "UPDATE projects SET deleted = true WHERE id = :projectId AND deleted = false", nativeQuery = true)
+    int markDeleted(@Param("projectId") Long projectId);
+
+    @Query(value = "SELECT id FROM projects WHERE deleted = true ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findDeletedIds(@Param("limit") int limit);
+
+    // Последний шаг очистки: строка проекта, когда связанных строк уже не осталось
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM projects WHERE id = :projectId AND deleted = true", nativeQuery = true)
+    int deletePurged(@Param("projectId") Long projectId);
+
+    @Query(value = "SELECT id FROM projects WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    // Проекты с задачами, но с нулевыми счётчиками: колонки только что добавлены и ещё не пересчитаны
+    @Query(value = "SELECT p.id FROM projects p " +
+            "WHERE p.pending_tasks = 0 AND p.in_progress_tasks = 0 AND p.done_tasks = 0 " +
+            "AND EXISTS (SELECT 1 FROM tasks t WHERE t.project_id = p.id) LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findIdsWithUncountedTasks(@Param("limit") int limit);
+
+    // Блокировка строк перед пересчётом: следующий оператор транзакции увидит
+    // все задачи, чьи сдвиги счётчиков уже закоммичены, а новые сдвиги дождутся пересчёта
+    @Query(value = "SELECT id FROM projects WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockForRecount(@Param("ids") Collection<Long> ids);
+
+    // Пересчёт счётчиков пачки проектов по таблице tasks
+    @Modifying
+    @Query(value = "UPDATE projects p SET " +
+            "pending_tasks = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.status = 'PENDING'), " +
+            "in_progress_tasks = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.status = 'IN_PROGRESS'), " +
+            "done_tasks = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.status = 'DONE') " +
+            "WHERE p.id IN (:ids)",
+            nativeQuery = true)
+    int rebuildTaskCounters(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,15 @@
+package com.example.projectflow.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Комментарий из проектов пользователя вместе с автором и названием проекта.
+ */
+public interface RecentCommentRow {
+    Long getId();
+    String getText();
+    String getAuthorLogin();
+    LocalDateTime getCreatedAt();
+    Long getProjectId();
+    String getProjectName();
+}
@@ -0,0 +1,11 @@
+package com.example.projectflow.repository;
+
+/**
+ * Проекция найденного документа: проект, к которому он относится, и текст для выдачи.
+ */
+public interface SearchRow {
+    Long getId();
+    Long getProjectId();
+    String getTitle();
+    String getText();
+}
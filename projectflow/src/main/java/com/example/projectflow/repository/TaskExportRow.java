@@ -0,0 +1,16 @@
+package com.example.projectflow.repository;
+
+import com.example.projectflow.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция задачи для экспорта: только нужные столбцы, без сущностей в контексте.
+ */
+public interface TaskExportRow {
+    Long getId();
+    String getName();
+    String getAssignee();
+    TaskStatus getStatus();
+    LocalDateTime getCreatedAt();
+}
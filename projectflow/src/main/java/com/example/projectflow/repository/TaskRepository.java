@@ -1,10 +1,99 @@
 package com.example.projectflow.repository;
 
 import com.example.projectflow.model.Task;
+import com.example.projectflow.model.TaskStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
+
+    // Сколько строк драйвер забирает за раз при потоковом чтении
+    int EXPORT_FETCH_SIZE = 500;
+
     List<Task> findByProjectId(Long projectId);
-    List<Task> findByAssignedMemberId(Long memberId);
-}
\ No newline at end of file
+
+    // Строка задачи блокируется до конца транзакции: статус и счётчики проекта меняются согласованно
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT t FROM Task t JOIN FETCH t.assignedMember m JOIN FETCH m.user " +
+            "WHERE t.project.id = :projectId ORDER BY t.createdAt, t.id")
+    List<Task> findWithAssigneeByProjectId(@Param("projectId") Long projectId);
+
+    // Задачи проекта из списка, статус которых действительно изменится
+    @Query("SELECT t.id FROM Task t WHERE t.project.id = :projectId AND t.id IN :taskIds AND t.status <> :status")
+    List<Long> findIdsToChangeStatus(@Param("projectId") Long projectId,
+                                     @Param("taskIds") Collection<Long> taskIds,
+                                     @Param("status") TaskStatus status);
+
+    // То же, но только задачи, назначенные пользователю
+    @Query("SELECT t.id FROM Task t WHERE t.project.id = :projectId AND t.id IN :taskIds AND t.status <> :status " +
+            "AND t.assignedMember.user.id = :userId")
+    List<Long> findAssignedIdsToChangeStatus(@Param("projectId") Long projectId,
+                                             @Param("taskIds") Collection<Long> taskIds,
+                                             @Param("status") TaskStatus status,
+                                             @Param("userId") Long userId);
+
+    // Условие по прежнему статусу: число изменённых строк точно даёт сдвиг счётчиков даже при гонке
+    @Modifying
+    @Query("UPDATE Task t SET t.status = :status WHERE t.id IN :taskIds AND t.status = :previous")
+    int updateStatusFrom(@Param("taskIds") Collection<Long> taskIds,
+                         @Param("previous") TaskStatus previous,
+                         @Param("status") TaskStatus status);
+
+    // Очистка удалённого проекта: одна пачка — одна короткая транзакция
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM tasks WHERE id IN (" +
+            "SELECT id FROM tasks WHERE project_id = :projectId LIMIT :limit)", nativeQuery = true)
+    int deleteBatchByProjectId(@Param("projectId") Long projectId, @Param("limit") int limit);
+
+    @Query("SELECT t.id AS id, p.id AS projectId, p.name AS title, t.name AS text FROM Task t JOIN t.project p WHERE t.id IN :ids")
+    List<SearchRow> findSearchRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.id AS id, t.name AS name, t.status AS status, t.createdAt AS createdAt, " +
+            "p.id AS projectId, p.name AS projectName " +
+            "FROM Task t JOIN t.project p JOIN t.assignedMember m WHERE m.user.id = :userId AND t.status IN :statuses " +
+            "AND p.deleted = false " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<AssignedTaskRow> findAssignedToUser(@Param("userId") Long userId,
+                                             @Param("statuses") Collection<TaskStatus> statuses,
+                                             Pageable pageable);
+
+    // Следующая страница задач пользователя строго после (createdAt, id)
+    @Query("SELECT t.id AS id, t.name AS name, t.status AS status, t.createdAt AS createdAt, " +
+            "p.id AS projectId, p.name AS projectName " +
+            "FROM Task t JOIN t.project p JOIN t.assignedMember m WHERE m.user.id = :userId AND t.status IN :statuses " +
+            "AND p.deleted = false AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<AssignedTaskRow> findAssignedToUserAfter(@Param("userId") Long userId,
+                                                  @Param("statuses") Collection<TaskStatus> statuses,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    // Потоковое чтение для экспорта; вызывать внутри транзакции и закрывать поток
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS id, t.name AS name, u.login AS assignee, t.status AS status, t.createdAt AS createdAt " +
+            "FROM Task t JOIN t.assignedMember m JOIN m.user u WHERE t.project.id = :projectId ORDER BY t.id")
+    Stream<TaskExportRow> streamForExport(@Param("projectId") Long projectId);
+}
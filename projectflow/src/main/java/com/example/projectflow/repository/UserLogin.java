@@ -0,0 +1,9 @@
+package com.example.projectflow.repository;
+
+/**
+ * Проекция пользователя без пароля и дат — только то, что нужно для поиска.
+ */
+public interface UserLogin {
+    Long getId();
+    String getLogin();
+}
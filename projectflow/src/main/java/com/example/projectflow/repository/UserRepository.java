@@ -2,8 +2,14 @@ package com.example.projectflow.repository;
 
 import com.example.projectflow.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByLogin(String login);
-}
\ No newline at end of file
+
+    @Query("SELECT u.id AS id, u.login AS login FROM User u")
+    List<UserLogin> findAllLogins();
+}
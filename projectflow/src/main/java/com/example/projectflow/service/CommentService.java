@@ -7,13 +7,17 @@ import com.example.projectflow.repository.CommentRepository;
 import com.example.projectflow.repository.ProjectRepository;
 import com.example.projectflow.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @Service
 public class CommentService {
 
+    private static final DateTimeFormatter CREATED_AT_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
     @Autowired
     private CommentRepository commentRepository;
 
@@ -23,6 +27,12 @@ public class CommentService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     public Comment createComment(Long projectId, Long authorId, String text) {
         Project project = projectRepository.findById(projectId).orElseThrow(() -> new RuntimeException("Project not found"));
         User author = userRepository.findById(authorId).orElseThrow(() -> new RuntimeException("User not found"));
@@ -32,7 +42,14 @@ public class CommentService {
         comment.setAuthor(author);
         comment.setText(text);
 
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        searchIndex.indexComment(saved.getId(), projectId, saved.getText());
+        eventPublisher.publishEvent(ProjectEvent.of(projectId, "commentCreated",
+                "id", saved.getId(),
+                "text", saved.getText(),
+                "authorLogin", author.getLogin(),
+                "createdAt", saved.getCreatedAt().format(CREATED_AT_FORMAT)));
+        return saved;
     }
 
     public List<Comment> getCommentsByProjectId(Long projectId) {
@@ -48,5 +65,7 @@ public class CommentService {
         }
 
         commentRepository.deleteById(commentId);
+        searchIndex.remove(SearchIndex.Type.COMMENT, commentId);
+        eventPublisher.publishEvent(ProjectEvent.of(comment.getProject().getId(), "commentDeleted", "id", commentId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.repository.AssignedTaskRow;
+import com.example.projectflow.repository.DashboardProjectRow;
+import com.example.projectflow.repository.RecentCommentRow;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Личная страница пользователя: проекты с ролью и счётчиками,
+ * назначенные ему незавершённые задачи и последние комментарии в его проектах.
+ */
+public class Dashboard {
+
+    private final List<DashboardProjectRow> projects;
+    private final List<AssignedTaskRow> assignedTasks;
+    private final List<RecentCommentRow> recentComments;
+
+    public Dashboard(List<DashboardProjectRow> projects, List<AssignedTaskRow> assignedTasks,
+                     List<RecentCommentRow> recentComments) {
+        this.projects = List.copyOf(projects);
+        this.assignedTasks = List.copyOf(assignedTasks);
+        this.recentComments = List.copyOf(recentComments);
+    }
+
+    public List<DashboardProjectRow> getProjects() {
+        return projects;
+    }
+
+    public List<AssignedTaskRow> getAssignedTasks() {
+        return assignedTasks;
+    }
+
+    public List<RecentCommentRow> getRecentComments() {
+        return recentComments;
+    }
+
+    public long getMyOpenTasks() {
+        return projects.stream().mapToLong(DashboardProjectRow::getMyOpenTasks).sum();
+    }
+
+    public Set<Long> getProjectIds() {
+        return projects.stream().map(DashboardProjectRow::getProjectId).collect(Collectors.toSet());
+    }
+}
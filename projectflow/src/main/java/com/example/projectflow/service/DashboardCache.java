@@ -0,0 +1,161 @@
+package com.example.projectflow.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш личных страниц по пользователю (LRU, без срока жизни).
+ * Сбрасывается по событиям проектов после коммита: у всех, чья страница
+ * содержит этот проект (обратный индекс проект → пользователи), и у пользователя,
+ * которого событие касается (добавлен, удалён). Остальные записи и загрузки не трогаются.
+ */
+@Component
+public class DashboardCache {
+
+    private record Entry(Dashboard dashboard, Set<Long> projectIds) {
+    }
+
+    private final int maxEntries;
+
+    private final Map<Long, Entry> entries;
+
+    private final Map<Long, Set<Long>> usersByProject = new HashMap<>();
+
+    // Номер последнего события по проекту и по пользователю: страница, загрузка которой
+    // началась раньше события по её проекту или её пользователю, в кэш не попадёт
+    private final Map<Long, Long> projectChanges = new HashMap<>();
+    private final Map<Long, Long> userChanges = new HashMap<>();
+    private long sequence;
+    // Загрузки, начатые до очистки этих номеров, не кэшируются
+    private long floor;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public DashboardCache(@Value("${projectflow.dashboard.cache-size:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() <= DashboardCache.this.maxEntries) {
+                    return false;
+                }
+                unindex(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    public Dashboard get(Long userId, Supplier<Dashboard> loader) {
+        long loadSequence;
+        synchronized (this) {
+            Entry cached = entries.get(userId);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached.dashboard();
+            }
+            loadSequence = sequence;
+        }
+
+        misses.incrementAndGet();
+        Dashboard dashboard = loader.get();
+        Set<Long> projectIds = dashboard.getProjectIds();
+
+        synchronized (this) {
+            if (isCurrent(userId, projectIds, loadSequence)) {
+                Entry previous = entries.put(userId, new Entry(dashboard, projectIds));
+                if (previous != null) {
+                    unindex(userId, previous);
+                }
+                for (Long projectId : projectIds) {
+                    usersByProject.computeIfAbsent(projectId, id -> new HashSet<>()).add(userId);
+                }
+            }
+        }
+        return dashboard;
+    }
+
+    // Вне транзакции — сразу, внутри — только после коммита
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectEvent(ProjectEvent event) {
+        // Ход импорта не в счёт: по его окончании приходит tasksImported
+        if ("importProgress".equals(event.type())) {
+            return;
+        }
+        Object userId = event.data().get("userId");
+        synchronized (this) {
+            long eventSequence = ++sequence;
+            projectChanges.put(event.projectId(), eventSequence);
+            Set<Long> users = usersByProject.remove(event.projectId());
+            if (users != null) {
+                for (Long user : users) {
+                    evict(user);
+                }
+            }
+            if (userId instanceof Long id) {
+                userChanges.put(id, eventSequence);
+                evict(id);
+            }
+            if (projectChanges.size() + userChanges.size() > maxEntries) {
+                projectChanges.clear();
+                userChanges.clear();
+                floor = sequence;
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Вызывается под монитором
+    private boolean isCurrent(Long userId, Set<Long> projectIds, long loadSequence) {
+        if (loadSequence < floor || userChanges.getOrDefault(userId, 0L) > loadSequence) {
+            return false;
+        }
+        for (Long projectId : projectIds) {
+            if (projectChanges.getOrDefault(projectId, 0L) > loadSequence) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Вызывается под монитором
+    private void evict(Long userId) {
+        Entry entry = entries.remove(userId);
+        if (entry != null) {
+            unindex(userId, entry);
+        }
+    }
+
+    // Вызывается под монитором
+    private void unindex(Long userId, Entry entry) {
+        for (Long projectId : entry.projectIds()) {
+            Set<Long> users = usersByProject.get(projectId);
+            if (users != null) {
+                users.remove(userId);
+                if (users.isEmpty()) {
+                    usersByProject.remove(projectId);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.model.TaskStatus;
+import com.example.projectflow.repository.CommentRepository;
+import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+
+/**
+ * Личная страница пользователя: три запроса независимо от числа проектов,
+ * результат кэшируется в DashboardCache.
+ */
+@Service
+public class DashboardService {
+
+    public static final int ASSIGNED_TASKS_LIMIT = 10;
+    public static final int RECENT_COMMENTS_LIMIT = 10;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    public Dashboard getDashboard(Long userId) {
+        return dashboardCache.get(userId, () -> loadDashboard(userId));
+    }
+
+    private Dashboard loadDashboard(Long userId) {
+        return new Dashboard(
+                projectMemberRepository.findDashboardProjects(userId, TaskStatus.DONE),
+                taskRepository.findAssignedToUser(userId, EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS),
+                        PageRequest.of(0, ASSIGNED_TASKS_LIMIT)),
+                commentRepository.findRecentInUserProjects(userId, PageRequest.of(0, RECENT_COMMENTS_LIMIT)));
+    }
+}
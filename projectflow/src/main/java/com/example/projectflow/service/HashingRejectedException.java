@@ -0,0 +1,11 @@
+package com.example.projectflow.service;
+
+/**
+ * Пул хэширования паролей переполнен или не успел ответить вовремя.
+ */
+public class HashingRejectedException extends RuntimeException {
+
+    public HashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.repository.InviteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Фоновая очистка просроченных и исчерпанных приглашений небольшими пачками,
+ * чтобы таблица invites не росла бесконечно.
+ */
+@Component
+public class InviteExpirySweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(InviteExpirySweeper.class);
+
+    @Autowired
+    private InviteRepository inviteRepository;
+
+    @Value("${projectflow.invites.sweep-batch-size:500}")
+    private int batchSize;
+
+    @Value("${projectflow.invites.sweep-max-batches:100}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${projectflow.invites.sweep-interval-ms:600000}",
+            initialDelayString = "${projectflow.invites.sweep-interval-ms:600000}")
+    public void sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = inviteRepository.deleteUnusableBatch(now, batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Удалено просроченных и исчерпанных приглашений: {}", total);
+        }
+    }
+}
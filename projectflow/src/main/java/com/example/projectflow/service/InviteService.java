@@ -4,7 +4,6 @@ import com.example.projectflow.model.Invite;
 import com.example.projectflow.model.Project;
 import com.example.projectflow.model.User;
 import com.example.projectflow.repository.InviteRepository;
-import com.example.projectflow.repository.ProjectMemberRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,16 +14,15 @@ import java.util.UUID;
 @Service
 public class InviteService {
 
-    @Autowired
-    private InviteRepository inviteRepository;
+    public static final int MAX_USES = 1000;
 
     @Autowired
-    private ProjectMemberRepository projectMemberRepository;
+    private InviteRepository inviteRepository;
 
     @Autowired
     private ProjectMemberService projectMemberService;
 
-    public String createInvite(Long projectId, Long creatorId, int hoursToExpire) {
+    public String createInvite(Long projectId, Long creatorId, int hoursToExpire, int maxUses) {
         Invite invite = new Invite();
         invite.setCode(UUID.randomUUID().toString().substring(0, 8)); // короткий код
         invite.setProject(new Project());
@@ -32,6 +30,8 @@ public class InviteService {
         invite.setCreator(new User());
         invite.getCreator().setId(creatorId);
         invite.setExpiresAt(LocalDateTime.now().plusHours(hoursToExpire));
+        invite.setMaxUses(maxUses);
+        invite.setRemainingUses(maxUses);
 
         inviteRepository.save(invite);
         return invite.getCode();
@@ -50,21 +50,26 @@ public class InviteService {
             throw new RuntimeException("Срок действия приглашения истёк");
         }
 
+        if (invite.getRemainingUses() <= 0) {
+            throw new RuntimeException("Приглашение уже использовано");
+        }
+
         return invite;
     }
     @Transactional
     public void acceptInvite(String code, Long userId) {
         Invite invite = validateInvite(code);
+        Long projectId = invite.getProject().getId();
 
-        boolean exists = projectMemberRepository.existsByProjectIdAndUserId(invite.getProject().getId(), userId);
-        if (exists) {
+        if (!projectMemberService.addMember(projectId, userId, "MEMBER")) {
             throw new RuntimeException("Пользователь уже состоит в проекте");
         }
 
-        projectMemberService.addMember(invite.getProject().getId(), userId, "MEMBER");
-
-        // Удаляем через отдельный метод
-        deleteInvite(code);
+        // Списываем использование последним: строка приглашения блокируется
+        // только до коммита, а при исчерпании откатывается и добавление участника
+        if (inviteRepository.redeem(code, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Приглашение уже использовано");
+        }
     }
 
     @Transactional
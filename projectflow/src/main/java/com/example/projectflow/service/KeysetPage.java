@@ -0,0 +1,50 @@
+package com.example.projectflow.service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница выборки с курсором по (created_at, id).
+ * Репозиторий выбирает на одну строку больше размера страницы —
+ * по лишней строке понимаем, есть ли следующая страница.
+ */
+public class KeysetPage<T> {
+
+    private final List<T> items;
+    private final LocalDateTime nextCreatedAt;
+    private final Long nextId;
+
+    public KeysetPage(List<T> items, LocalDateTime nextCreatedAt, Long nextId) {
+        this.items = items;
+        this.nextCreatedAt = nextCreatedAt;
+        this.nextId = nextId;
+    }
+
+    public static <T> KeysetPage<T> of(List<T> fetched, int pageSize,
+                                       Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        if (fetched.size() <= pageSize) {
+            return new KeysetPage<>(Collections.unmodifiableList(fetched), null, null);
+        }
+        List<T> items = Collections.unmodifiableList(fetched.subList(0, pageSize));
+        T last = items.get(pageSize - 1);
+        return new KeysetPage<>(items, createdAt.apply(last), id.apply(last));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public LocalDateTime getNextCreatedAt() {
+        return nextCreatedAt;
+    }
+
+    public Long getNextId() {
+        return nextId;
+    }
+
+    public boolean hasNext() {
+        return nextId != null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.projectflow.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Ограничение попыток входа и регистрации: token bucket на каждый ключ
+ * (логин или IP клиента). Ключи разложены по независимым полосам со своей
+ * блокировкой, поэтому общей блокировки нет. Каждая полоса хранит не больше
+ * заданного числа ключей. Вытесняется только ключ, чьё ведро уже снова полное:
+ * иначе перебором новых логинов или IP можно было бы сбросить собственное
+ * ограничение. Если в полосе все вёдра неполные, новый ключ получает отказ.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final double capacity;
+    private final double tokensPerNano;
+
+    public LoginRateLimiter(@Value("${projectflow.auth.rate-limit.capacity:10}") int capacity,
+                            @Value("${projectflow.auth.rate-limit.refill-per-minute:10}") int refillPerMinute,
+                            @Value("${projectflow.auth.rate-limit.max-keys:100000}") int maxKeys) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000.0;
+        int keysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * Пропускает попытку, только если есть токен и по IP, и по логину.
+     * При отказе по IP токен логина не тратится.
+     */
+    public boolean tryAcquire(String login, String clientIp) {
+        return tryAcquire("ip:" + clientIp) && tryAcquire("login:" + login);
+    }
+
+    public boolean tryAcquire(String key) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        long now = System.nanoTime();
+
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                if (stripe.size() >= stripe.maxKeys && !evictRefilled(stripe, now)) {
+                    return false;
+                }
+                bucket = new Bucket(capacity, now);
+                stripe.put(key, bucket);
+            } else {
+                bucket.tokens = refilled(bucket, now);
+                bucket.updatedAt = now;
+            }
+
+            if (bucket.tokens < 1.0) {
+                return false;
+            }
+            bucket.tokens -= 1.0;
+            return true;
+        }
+    }
+
+    private double refilled(Bucket bucket, long now) {
+        return Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+    }
+
+    // Обход от давно не использованных ключей: они скорее всего уже восстановились
+    private boolean evictRefilled(Stripe stripe, long now) {
+        Iterator<Bucket> buckets = stripe.values().iterator();
+        while (buckets.hasNext()) {
+            if (refilled(buckets.next(), now) >= capacity) {
+                buckets.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long updatedAt;
+
+        Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int maxKeys;
+
+        Stripe(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.projectflow.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Параллельное выполнение независимых запросов страницы на виртуальных потоках.
+ * Область (Scope) живёт внутри одного запроса: fork запускает задачу, join ждёт все,
+ * при первой ошибке остальные отменяются, close отменяет незавершённые.
+ * Семафор области ограничивает число одновременно занятых соединений пула на запрос;
+ * вложенная область на том же потоке делит семафор с внешней.
+ * Выключенный режим выполняет задачи сразу в вызывающем потоке, по очереди.
+ */
+@Component
+public class ParallelQueries {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final boolean enabled;
+    private final int maxPerRequest;
+    private final long timeoutMillis;
+
+    public ParallelQueries(@Value("${projectflow.queries.parallel:true}") boolean enabled,
+                           @Value("${projectflow.queries.max-per-request:4}") int maxPerRequest,
+                           @Value("${projectflow.queries.timeout-ms:10000}") long timeoutMillis) {
+        this.enabled = enabled;
+        this.maxPerRequest = maxPerRequest;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Scope open() {
+        Scope parent = CURRENT.get();
+        Scope scope = new Scope(parent, parent == null ? new Semaphore(maxPerRequest) : parent.permits);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final Semaphore permits;
+        private final List<Future<?>> futures = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        private Scope(Scope parent, Semaphore permits) {
+            this.parent = parent;
+            this.permits = permits;
+        }
+
+        /**
+         * Результат задачи доступен только после join().
+         */
+        public <T> Supplier<T> fork(Callable<T> task) {
+            if (!enabled) {
+                T result = call(task);
+                return () -> result;
+            }
+            // Операторы задачи засчитываются запросу, который её запустил
+            Callable<T> counted = RequestStatements.wrap(task);
+            Future<T> future = executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return counted.call();
+                } catch (Throwable e) {
+                    // Как ShutdownOnFailure: первая ошибка сразу отменяет соседние задачи
+                    if (failure.compareAndSet(null, e)) {
+                        cancelAll();
+                    }
+                    throw e;
+                } finally {
+                    permits.release();
+                }
+            });
+            futures.add(future);
+            return future::resultNow;
+        }
+
+        public void join() {
+            try {
+                for (Future<?> future : futures) {
+                    long left = deadline - System.nanoTime();
+                    future.get(Math.max(0, left), TimeUnit.NANOSECONDS);
+                }
+            } catch (ExecutionException | CancellationException e) {
+                cancelAll();
+                Throwable cause = failure.get();
+                throw unwrap(cause != null ? cause : e);
+            } catch (TimeoutException e) {
+                cancelAll();
+                throw new RuntimeException("Загрузка данных страницы не уложилась во время", e);
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Загрузка данных страницы прервана", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+
+        private void cancelAll() {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable e) {
+        if (e instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException(e);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.projectflow.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt на отдельном пуле фиксированного размера с ограниченной очередью.
+ * Всплеск входов упирается в этот пул, а не в потоки Tomcat:
+ * при переполнении очереди запрос сразу получает отказ, а попавший в очередь
+ * ждёт результат не дольше timeout-ms (по умолчанию 1 с) и затем тоже получает отказ.
+ * Всё это время поток запроса занят, поэтому очередь короткая: ждать в ней
+ * дольше пары хэшей на поток бессмысленно.
+ */
+@Component
+public class PasswordHasher {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final String dummyHash;
+
+    public PasswordHasher(@Value("${projectflow.password.bcrypt-strength:10}") int strength,
+                          @Value("${projectflow.password.pool-size:2}") int poolSize,
+                          @Value("${projectflow.password.queue-capacity:8}") int queueCapacity,
+                          @Value("${projectflow.password.timeout-ms:1000}") long timeoutMillis) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.timeoutMillis = timeoutMillis;
+        this.dummyHash = encoder.encode("dummy-password");
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String hash(String rawPassword) {
+        return call(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String storedHash) {
+        if (!isHashed(storedHash)) {
+            // Старые записи хранят пароль открытым текстом
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedHash.getBytes(StandardCharsets.UTF_8));
+        }
+        return call(() -> encoder.matches(rawPassword, storedHash));
+    }
+
+    /**
+     * Проверка против фиксированного фиктивного хэша той же стоимости. Вход с неизвестным
+     * логином тратит на BCrypt столько же, сколько с неверным паролем, и по времени
+     * ответа нельзя узнать, существует ли логин.
+     */
+    public void matchesDummy(String rawPassword) {
+        call(() -> encoder.matches(rawPassword, dummyHash));
+    }
+
+    /**
+     * Нужно ли перехэшировать пароль после успешного входа:
+     * открытый текст или BCrypt с меньшей стоимостью, чем настроена сейчас.
+     */
+    public boolean needsRehash(String storedHash) {
+        return !isHashed(storedHash) || encoder.upgradeEncoding(storedHash);
+    }
+
+    public int getQueuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static boolean isHashed(String storedHash) {
+        return storedHash.startsWith("$2a$") || storedHash.startsWith("$2b$") || storedHash.startsWith("$2y$");
+    }
+
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new HashingRejectedException("Сервер перегружен, попробуйте войти позже", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new HashingRejectedException("Сервер перегружен, попробуйте войти позже", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HashingRejectedException("Проверка пароля прервана", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.model.Comment;
+import com.example.projectflow.model.Project;
+import com.example.projectflow.model.ProjectMember;
+import com.example.projectflow.model.Task;
+import com.example.projectflow.model.User;
+
+import java.util.List;
+
+/**
+ * Всё, что нужно странице проекта, загруженное одним проходом.
+ * Задачи и участники заполняются только для участников проекта.
+ */
+public class ProjectDetail {
+
+    private final Project project;
+    private final KeysetPage<Comment> comments;
+    private final List<ProjectMember> memberships;
+    private final List<Task> tasks;
+    private final ProjectMember currentMember;
+
+    public ProjectDetail(Project project, KeysetPage<Comment> comments, List<ProjectMember> memberships,
+                         List<Task> tasks, ProjectMember currentMember) {
+        this.project = project;
+        this.comments = comments;
+        this.memberships = memberships;
+        this.tasks = tasks;
+        this.currentMember = currentMember;
+    }
+
+    public Project getProject() {
+        return project;
+    }
+
+    public List<Comment> getComments() {
+        return comments.getItems();
+    }
+
+    public KeysetPage<Comment> getCommentsPage() {
+        return comments;
+    }
+
+    public List<ProjectMember> getMemberships() {
+        return memberships;
+    }
+
+    public List<User> getMembers() {
+        return memberships.stream().map(ProjectMember::getUser).toList();
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public ProjectMember getCurrentMember() {
+        return currentMember;
+    }
+
+    public boolean isMember() {
+        return currentMember != null;
+    }
+
+    public boolean isOwner() {
+        return currentMember != null && "OWNER".equals(currentMember.getRole());
+    }
+}
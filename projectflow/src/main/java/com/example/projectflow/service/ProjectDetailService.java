@@ -0,0 +1,127 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.model.Comment;
+import com.example.projectflow.model.Project;
+import com.example.projectflow.model.ProjectMember;
+import com.example.projectflow.model.Task;
+import com.example.projectflow.repository.CommentRepository;
+import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.repository.ProjectRepository;
+import com.example.projectflow.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Чтение страницы проекта фиксированным числом независимых запросов:
+ * проект, участники с пользователями, задачи с исполнителями,
+ * одна страница комментариев с авторами (от новых к старым).
+ * Членство текущего пользователя определяется по списку участников, без отдельных запросов.
+ */
+@Service
+public class ProjectDetailService {
+
+    public static final int COMMENTS_PAGE_SIZE = 20;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ProjectMembershipIndex projectMembershipIndex;
+
+    @Autowired
+    private ParallelQueries parallelQueries;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public ProjectDetail loadProjectDetail(Long projectId, Long userId) {
+        return loadProjectDetail(projectId, userId, null, null);
+    }
+
+    /**
+     * commentsBefore/commentsBeforeId — курсор: комментарии строго старше него.
+     * В параллельном режиме запросы идут одновременно, каждый в своём соединении,
+     * и время страницы близко к самому долгому из них. В последовательном —
+     * одна транзакция и один контекст: проект, загруженный первым,
+     * подставляется в жадные ссылки task.project и comment.project без новых запросов.
+     */
+    public ProjectDetail loadProjectDetail(Long projectId, Long userId,
+                                           LocalDateTime commentsBefore, Long commentsBeforeId) {
+        if (parallelQueries.isEnabled()) {
+            return loadParallel(projectId, userId, commentsBefore, commentsBeforeId);
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> loadSequential(projectId, userId, commentsBefore, commentsBeforeId));
+    }
+
+    private ProjectDetail loadSequential(Long projectId, Long userId,
+                                         LocalDateTime commentsBefore, Long commentsBeforeId) {
+        Project project = projectRepository.findById(projectId).orElseThrow(() -> new RuntimeException("Project not found"));
+
+        List<ProjectMember> memberships = projectMemberRepository.findWithUserByProjectId(projectId);
+        ProjectMember currentMember = findCurrentMember(memberships, userId);
+        KeysetPage<Comment> comments = loadComments(projectId, commentsBefore, commentsBeforeId);
+
+        if (currentMember == null) {
+            return new ProjectDetail(project, comments, List.of(), List.of(), null);
+        }
+
+        List<Task> tasks = taskRepository.findWithAssigneeByProjectId(projectId);
+        return new ProjectDetail(project, comments, memberships, tasks, currentMember);
+    }
+
+    // Задачи нужны только участникам: решаем по индексу членства, не дожидаясь списка участников
+    private ProjectDetail loadParallel(Long projectId, Long userId,
+                                       LocalDateTime commentsBefore, Long commentsBeforeId) {
+        boolean member = userId != null && projectMembershipIndex.isMember(projectId, userId);
+        try (ParallelQueries.Scope scope = parallelQueries.open()) {
+            Supplier<Optional<Project>> project = scope.fork(() -> projectRepository.findById(projectId));
+            Supplier<List<ProjectMember>> memberships = scope.fork(() -> projectMemberRepository.findWithUserByProjectId(projectId));
+            Supplier<KeysetPage<Comment>> comments = scope.fork(() -> loadComments(projectId, commentsBefore, commentsBeforeId));
+            Supplier<List<Task>> tasks = member
+                    ? scope.fork(() -> taskRepository.findWithAssigneeByProjectId(projectId))
+                    : List::of;
+            scope.join();
+
+            Project loaded = project.get().orElseThrow(() -> new RuntimeException("Project not found"));
+            ProjectMember currentMember = member ? findCurrentMember(memberships.get(), userId) : null;
+            if (currentMember == null) {
+                return new ProjectDetail(loaded, comments.get(), List.of(), List.of(), null);
+            }
+            return new ProjectDetail(loaded, comments.get(), memberships.get(), tasks.get(), currentMember);
+        }
+    }
+
+    private KeysetPage<Comment> loadComments(Long projectId, LocalDateTime commentsBefore, Long commentsBeforeId) {
+        PageRequest limit = PageRequest.of(0, COMMENTS_PAGE_SIZE + 1);
+        List<Comment> fetched = (commentsBefore == null || commentsBeforeId == null)
+                ? commentRepository.findLatestWithAuthor(projectId, limit)
+                : commentRepository.findOlderWithAuthor(projectId, commentsBefore, commentsBeforeId, limit);
+        return KeysetPage.of(fetched, COMMENTS_PAGE_SIZE, Comment::getCreatedAt, Comment::getId);
+    }
+
+    private static ProjectMember findCurrentMember(List<ProjectMember> memberships, Long userId) {
+        return userId == null ? null : memberships.stream()
+                .filter(member -> member.getUser().getId().equals(userId))
+                .findFirst()
+                .orElse(null);
+    }
+}
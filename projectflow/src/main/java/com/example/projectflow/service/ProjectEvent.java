@@ -0,0 +1,22 @@
+package com.example.projectflow.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Изменение на странице проекта (задачи, комментарии, участники).
+ * Публикуется сервисами, рассылается подписчикам после коммита.
+ */
+public record ProjectEvent(Long projectId, String type, Map<String, Object> data) {
+
+    /**
+     * keyValues — пары "ключ, значение" для тела события.
+     */
+    public static ProjectEvent of(Long projectId, String type, Object... keyValues) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            data.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return new ProjectEvent(projectId, type, data);
+    }
+}
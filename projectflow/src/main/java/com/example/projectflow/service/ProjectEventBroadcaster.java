@@ -0,0 +1,202 @@
+package com.example.projectflow.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Рассылка изменений проекта по SSE.
+ * Соединения асинхронные (поток запроса не держится). У каждого подписчика своя
+ * короткая очередь и свой виртуальный поток отправки, так что медленный клиент
+ * задерживает только себя; если очередь переполнена, подписка закрывается,
+ * и браузер переподключается сам. Поток удалённого участника и все потоки
+ * удалённого проекта закрываются сразу после последнего события.
+ */
+@Component
+public class ProjectEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectEventBroadcaster.class);
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    // Метка в очереди подписчика: после неё соединение закрывается
+    private static final SseEmitter.SseEventBuilder CLOSE = SseEmitter.event();
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${projectflow.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMillis;
+
+    @Value("${projectflow.events.queue-capacity:64}")
+    private int queueCapacity;
+
+    public SseEmitter subscribe(Long projectId, Long userId) {
+        return subscribe(projectId, userId, new SseEmitter(emitterTimeoutMillis));
+    }
+
+    public SseEmitter subscribe(Long projectId, Long userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(projectId, userId, emitter, queueCapacity);
+        subscribers.compute(projectId, (id, projectSubscribers) -> {
+            Set<Subscriber> result = projectSubscribers != null ? projectSubscribers : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+
+        Runnable unsubscribe = () -> remove(subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        subscriber.enqueue(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * Закрывает потоки пользователя по проекту (например, после удаления из участников).
+     */
+    public void disconnect(Long projectId, Long userId) {
+        Set<Subscriber> projectSubscribers = subscribers.get(projectId);
+        if (projectSubscribers != null) {
+            for (Subscriber subscriber : projectSubscribers) {
+                if (subscriber.userId.equals(userId)) {
+                    subscriber.close();
+                }
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // Вне транзакции — сразу, внутри — только после коммита
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectEvent(ProjectEvent event) {
+        Set<Subscriber> projectSubscribers = subscribers.get(event.projectId());
+        if (projectSubscribers == null || projectSubscribers.isEmpty()) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event.data());
+        } catch (JsonProcessingException e) {
+            log.warn("Не удалось сериализовать событие {}", event.type(), e);
+            return;
+        }
+
+        for (Subscriber subscriber : projectSubscribers) {
+            subscriber.enqueue(SseEmitter.event().name(event.type()).data(json));
+        }
+
+        // Доступа больше нет: событие об этом уходит последним
+        if ("projectDeleted".equals(event.type())) {
+            projectSubscribers.forEach(Subscriber::close);
+        } else if ("memberRemoved".equals(event.type()) && event.data().get("userId") instanceof Long userId) {
+            disconnect(event.projectId(), userId);
+        }
+    }
+
+    // Пустой комментарий раз в полминуты: прокси не рвут соединение, а мёртвые подписчики отваливаются
+    @Scheduled(fixedRateString = "${projectflow.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(projectSubscribers -> projectSubscribers.forEach(
+                subscriber -> subscriber.enqueue(SseEmitter.event().comment("ping"))));
+    }
+
+    // Виртуальные потоки отправки не держат JVM; достаточно закрыть соединения
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(projectSubscribers -> projectSubscribers.forEach(
+                subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.projectId, (id, projectSubscribers) -> {
+            projectSubscribers.remove(subscriber);
+            return projectSubscribers.isEmpty() ? null : projectSubscribers;
+        });
+    }
+
+    /**
+     * Очередь событий одного соединения. Поток отправки запускается, только когда
+     * в очереди что-то есть, и завершается, разобрав её.
+     */
+    private final class Subscriber {
+
+        private final Long projectId;
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending;
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(Long projectId, Long userId, SseEmitter emitter, int capacity) {
+            this.projectId = projectId;
+            this.userId = userId;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (!pending.offer(event)) {
+                // Клиент не успевает читать: отключаем, не дожидаясь зависшей записи
+                remove(this);
+                pending.clear();
+                senders.execute(emitter::complete);
+                return;
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        // Новые события сюда больше не попадут; уже стоящие в очереди отправятся
+        void close() {
+            remove(this);
+            enqueue(CLOSE);
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    if (event == CLOSE) {
+                        pending.clear();
+                        emitter.complete();
+                        return;
+                    }
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        remove(this);
+                        pending.clear();
+                        return;
+                    }
+                }
+                sending.set(false);
+            } while (!pending.isEmpty() && sending.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.model.Project;
+import com.example.projectflow.repository.CommentExportRow;
+import com.example.projectflow.repository.CommentRepository;
+import com.example.projectflow.repository.MemberExportRow;
+import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.repository.ProjectRepository;
+import com.example.projectflow.repository.TaskExportRow;
+import com.example.projectflow.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Потоковая выгрузка проекта. Строки читаются курсором (Stream + fetch size)
+ * и сразу пишутся в ответ, поэтому память не зависит от объёма проекта.
+ */
+@Service
+public class ProjectExportService {
+
+    public enum Part { TASKS, MEMBERS, COMMENTS }
+
+    // Поток ответа закрывает контейнер, а не генератор
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .build();
+
+    // Столбцы задач совпадают с форматом импорта (name, assignee, status)
+    private static final CsvSchema TASKS_SCHEMA = CsvSchema.builder()
+            .addColumn("id").addColumn("name").addColumn("assignee").addColumn("status").addColumn("created_at")
+            .setUseHeader(true).build();
+
+    private static final CsvSchema MEMBERS_SCHEMA = CsvSchema.builder()
+            .addColumn("user_id").addColumn("login").addColumn("role")
+            .setUseHeader(true).build();
+
+    private static final CsvSchema COMMENTS_SCHEMA = CsvSchema.builder()
+            .addColumn("id").addColumn("author").addColumn("text").addColumn("created_at")
+            .setUseHeader(true).build();
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Весь проект одним JSON-документом: project, members, tasks, comments.
+     */
+    @Transactional(readOnly = true)
+    public void writeJson(Long projectId, OutputStream out) throws IOException {
+        Project project = projectRepository.findById(projectId).orElseThrow(() -> new RuntimeException("Project not found"));
+
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            json.writeStartObject();
+            json.writeObjectFieldStart("project");
+            json.writeNumberField("id", project.getId());
+            json.writeStringField("name", project.getName());
+            json.writeStringField("description", project.getDescription());
+            json.writeNumberField("ownerId", project.getOwnerId());
+            json.writeStringField("createdAt", format(project.getCreatedAt()));
+            json.writeEndObject();
+            // Заголовок уходит клиенту сразу, не дожидаясь строк
+            json.flush();
+
+            json.writeArrayFieldStart("members");
+            try (Stream<MemberExportRow> rows = projectMemberRepository.streamForExport(projectId)) {
+                for (Iterator<MemberExportRow> it = rows.iterator(); it.hasNext(); ) {
+                    MemberExportRow row = it.next();
+                    json.writeStartObject();
+                    json.writeNumberField("userId", row.getUserId());
+                    json.writeStringField("login", row.getLogin());
+                    json.writeStringField("role", row.getRole());
+                    json.writeEndObject();
+                }
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("tasks");
+            try (Stream<TaskExportRow> rows = taskRepository.streamForExport(projectId)) {
+                for (Iterator<TaskExportRow> it = rows.iterator(); it.hasNext(); ) {
+                    TaskExportRow row = it.next();
+                    json.writeStartObject();
+                    json.writeNumberField("id", row.getId());
+                    json.writeStringField("name", row.getName());
+                    json.writeStringField("assignee", row.getAssignee());
+                    json.writeStringField("status", row.getStatus().name());
+                    json.writeStringField("createdAt", format(row.getCreatedAt()));
+                    json.writeEndObject();
+                }
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("comments");
+            try (Stream<CommentExportRow> rows = commentRepository.streamForExport(projectId)) {
+                for (Iterator<CommentExportRow> it = rows.iterator(); it.hasNext(); ) {
+                    CommentExportRow row = it.next();
+                    json.writeStartObject();
+                    json.writeNumberField("id", row.getId());
+                    json.writeStringField("author", row.getAuthor());
+                    json.writeStringField("text", row.getText());
+                    json.writeStringField("createdAt", format(row.getCreatedAt()));
+                    json.writeEndObject();
+                }
+            }
+            json.writeEndArray();
+
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * Одна таблица проекта в CSV с заголовком.
+     */
+    @Transactional(readOnly = true)
+    public void writeCsv(Long projectId, Part part, OutputStream out) throws IOException {
+        if (!projectRepository.existsById(projectId)) {
+            throw new RuntimeException("Project not found");
+        }
+
+        switch (part) {
+            case TASKS -> {
+                try (SequenceWriter csv = CSV_MAPPER.writer(TASKS_SCHEMA).writeValues(out);
+                     Stream<TaskExportRow> rows = taskRepository.streamForExport(projectId)) {
+                    rows.forEach(row -> writeRow(csv, row.getId(), row.getName(), row.getAssignee(),
+                            row.getStatus().name(), format(row.getCreatedAt())));
+                }
+            }
+            case MEMBERS -> {
+                try (SequenceWriter csv = CSV_MAPPER.writer(MEMBERS_SCHEMA).writeValues(out);
+                     Stream<MemberExportRow> rows = projectMemberRepository.streamForExport(projectId)) {
+                    rows.forEach(row -> writeRow(csv, row.getUserId(), row.getLogin(), row.getRole()));
+                }
+            }
+            case COMMENTS -> {
+                try (SequenceWriter csv = CSV_MAPPER.writer(COMMENTS_SCHEMA).writeValues(out);
+                     Stream<CommentExportRow> rows = commentRepository.streamForExport(projectId)) {
+                    rows.forEach(row -> writeRow(csv, row.getId(), row.getAuthor(), row.getText(), format(row.getCreatedAt())));
+                }
+            }
+        }
+    }
+
+    private static void writeRow(SequenceWriter csv, Object... values) {
+        try {
+            csv.write(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String format(LocalDateTime value) {
+        return value != null ? value.toString() : null;
+    }
+}
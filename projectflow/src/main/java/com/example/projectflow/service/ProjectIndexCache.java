@@ -0,0 +1,126 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.model.Project;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш страниц главной ("Все проекты").
+ * Размер ограничен (LRU), срока жизни нет — записи сбрасываются целиком
+ * при создании, изменении и удалении проектов. Изменение задач сдвигает только
+ * счётчики своего проекта, поэтому сбрасывает лишь страницы, где этот проект есть.
+ */
+@Component
+public class ProjectIndexCache {
+
+    private final int maxEntries;
+
+    private final Map<String, KeysetPage<Project>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // Увеличивается при каждой инвалидации: страница, прочитанная до неё, в кэш не попадёт
+    private long generation;
+
+    public ProjectIndexCache(@Value("${projectflow.projects.index-cache-size:256}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, KeysetPage<Project>> eldest) {
+                return size() > ProjectIndexCache.this.maxEntries;
+            }
+        };
+    }
+
+    public KeysetPage<Project> get(LocalDateTime afterCreatedAt, Long afterId, Supplier<KeysetPage<Project>> loader) {
+        String key = key(afterCreatedAt, afterId);
+        long loadGeneration;
+        synchronized (this) {
+            KeysetPage<Project> cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        KeysetPage<Project> page = loader.get();
+
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(key, page);
+            }
+        }
+        return page;
+    }
+
+    public void invalidate() {
+        clear();
+        // Внутри транзакции сбрасываем ещё раз после коммита,
+        // иначе параллельный запрос успеет закэшировать старые данные
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        }
+    }
+
+    /**
+     * Сбросить страницы, на которых есть проект (после изменения его счётчиков задач).
+     */
+    public void evictProject(Long projectId) {
+        removePagesWith(projectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removePagesWith(projectId);
+                }
+            });
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void removePagesWith(Long projectId) {
+        // Страница, которая читается сейчас, могла застать старые счётчики — в кэш она не попадёт
+        generation++;
+        entries.values().removeIf(page -> page.getItems().stream()
+                .anyMatch(project -> projectId.equals(project.getId())));
+    }
+
+    private synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    private static String key(LocalDateTime afterCreatedAt, Long afterId) {
+        if (afterCreatedAt == null || afterId == null) {
+            return "first";
+        }
+        return afterCreatedAt + "|" + afterId;
+    }
+}
@@ -4,9 +4,9 @@ import com.example.projectflow.model.Project;
 import com.example.projectflow.model.ProjectMember;
 import com.example.projectflow.model.User;
 import com.example.projectflow.repository.ProjectMemberRepository;
-import com.example.projectflow.repository.ProjectRepository;
-import com.example.projectflow.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,25 +20,43 @@ public class ProjectMemberService {
     private ProjectMemberRepository projectMemberRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private ProjectMembershipIndex projectMembershipIndex;
 
     @Autowired
-    private ProjectRepository projectRepository;
+    private UserLoginIndex userLoginIndex;
 
-    public void addMember(Long projectId, Long userId, String role) {
-        if (projectMemberRepository.existsByProjectIdAndUserId(projectId, userId)) {
-            throw new RuntimeException("User is already a member of this project");
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Добавляет участника одним INSERT ... ON CONFLICT DO NOTHING.
+     * Возвращает false, если пользователь уже состоит в проекте.
+     */
+    public boolean addMember(Long projectId, Long userId, String role) {
+        int inserted;
+        try {
+            inserted = projectMemberRepository.insertIfAbsent(projectId, userId, role);
+        } catch (DataIntegrityViolationException e) {
+            // Нарушен внешний ключ: нет такого проекта или пользователя
+            throw new RuntimeException("Project or user not found");
         }
 
-        Project project = projectRepository.findById(projectId).orElseThrow(() -> new RuntimeException("Project not found"));
-        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        if (inserted == 0) {
+            return false;
+        }
+        projectMembershipIndex.addMember(projectId, userId, "OWNER".equals(role));
 
-        ProjectMember member = new ProjectMember(project, user, role);
-        projectMemberRepository.save(member);
+        eventPublisher.publishEvent(ProjectEvent.of(projectId, "memberAdded",
+                "userId", userId,
+                "login", userLoginIndex.getLogin(userId),
+                "role", role));
+        return true;
     }
     @Transactional
     public void removeMember(Long projectId, Long userId) {
         projectMemberRepository.deleteByProjectIdAndUserId(projectId, userId);
+        projectMembershipIndex.removeMember(projectId, userId);
+        eventPublisher.publishEvent(ProjectEvent.of(projectId, "memberRemoved", "userId", userId));
     }
 
     public List<User> getProjectMembers(Long projectId) {
@@ -48,14 +66,15 @@ public class ProjectMemberService {
     }
 
     public List<Project> getUserProjects(Long userId) {
-        return projectMemberRepository.findByUserId(userId).stream()
-                .map(ProjectMember::getProject)
-                .collect(Collectors.toList());
+        return projectMemberRepository.findProjectsByUserId(userId);
     }
 
     public boolean isOwner(Long projectId, Long userId) {
-        return projectMemberRepository.findByProjectIdAndUserId(projectId, userId).stream()
-                .anyMatch(member -> "OWNER".equals(member.getRole()));
+        return projectMembershipIndex.isOwner(projectId, userId);
+    }
+
+    public boolean isMember(Long projectId, Long userId) {
+        return projectMembershipIndex.isMember(projectId, userId);
     }
 
     public ProjectMember findByProjectIdAndUserId(Long projectId, Long userId) {
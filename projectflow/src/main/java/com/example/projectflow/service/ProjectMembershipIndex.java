@@ -0,0 +1,147 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.repository.MembershipRow;
+import com.example.projectflow.repository.ProjectMemberRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Членство в проектах в памяти: для каждого пользователя — его проекты и признак владельца,
+ * для каждого проекта — его участники. Память растёт с числом членств, а не с величиной id.
+ * Проверки прав не ходят в базу; изменения применяются после коммита.
+ */
+@Component
+public class ProjectMembershipIndex {
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // id пользователя -> (id проекта -> владелец ли)
+    private final Map<Long, Map<Long, Boolean>> projectsByUser = new HashMap<>();
+    // id проекта -> id участников, чтобы удаление проекта не обходило всех пользователей
+    private final Map<Long, Set<Long>> usersByProject = new HashMap<>();
+
+    // Заполняем до старта веб-сервера, чтобы первые запросы не получили отказ
+    @PostConstruct
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            projectsByUser.clear();
+            usersByProject.clear();
+            for (MembershipRow row : projectMemberRepository.findAllMemberships()) {
+                put(row.getProjectId(), row.getUserId(), "OWNER".equals(row.getRole()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isMember(long projectId, long userId) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Boolean> projects = projectsByUser.get(userId);
+            return projects != null && projects.containsKey(projectId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isOwner(long projectId, long userId) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Boolean> projects = projectsByUser.get(userId);
+            return projects != null && Boolean.TRUE.equals(projects.get(projectId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addMember(long projectId, long userId, boolean owner) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                put(projectId, userId, owner);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void removeMember(long projectId, long userId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Map<Long, Boolean> projects = projectsByUser.get(userId);
+                if (projects != null) {
+                    projects.remove(projectId);
+                    if (projects.isEmpty()) {
+                        projectsByUser.remove(userId);
+                    }
+                }
+                Set<Long> users = usersByProject.get(projectId);
+                if (users != null) {
+                    users.remove(userId);
+                    if (users.isEmpty()) {
+                        usersByProject.remove(projectId);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void removeProject(long projectId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Set<Long> users = usersByProject.remove(projectId);
+                if (users == null) {
+                    return;
+                }
+                for (Long userId : users) {
+                    Map<Long, Boolean> projects = projectsByUser.get(userId);
+                    if (projects != null) {
+                        projects.remove(projectId);
+                        if (projects.isEmpty()) {
+                            projectsByUser.remove(userId);
+                        }
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Вызывается под блокировкой записи; владельцем остаётся, если уже был
+    private void put(long projectId, long userId, boolean owner) {
+        projectsByUser.computeIfAbsent(userId, id -> new HashMap<>()).merge(projectId, owner, Boolean::logicalOr);
+        usersByProject.computeIfAbsent(projectId, id -> new HashSet<>()).add(userId);
+    }
+
+    // Внутри транзакции меняем индекс только после успешного коммита
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
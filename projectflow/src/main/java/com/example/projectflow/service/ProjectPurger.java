@@ -0,0 +1,85 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.repository.CommentRepository;
+import com.example.projectflow.repository.InviteRepository;
+import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.repository.ProjectRepository;
+import com.example.projectflow.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Фоновое удаление помеченных проектов. Строки стираются пачками, каждая пачка —
+ * отдельная короткая транзакция; за один запуск выполняется не больше maxBatches пачек,
+ * остаток дочищает следующий запуск.
+ */
+@Component
+public class ProjectPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectPurger.class);
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private InviteRepository inviteRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Value("${projectflow.projects.purge-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${projectflow.projects.purge-max-batches:200}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${projectflow.projects.purge-interval-ms:60000}",
+            initialDelayString = "${projectflow.projects.purge-interval-ms:60000}")
+    public void purgeDeleted() {
+        int[] budget = {maxBatches};
+        List<Long> projectIds = projectRepository.findDeletedIds(maxBatches);
+        for (Long projectId : projectIds) {
+            if (!purge(projectId, budget)) {
+                break;
+            }
+        }
+    }
+
+    // true — проект удалён полностью; false — запуск исчерпал лимит пачек
+    private boolean purge(Long projectId, int[] budget) {
+        long rows = 0;
+        // Порядок важен: задачи ссылаются на участников, всё остальное — на проект
+        List<ToIntBiFunction<Long, Integer>> steps = List.of(
+                commentRepository::deleteBatchByProjectId,
+                taskRepository::deleteBatchByProjectId,
+                inviteRepository::deleteBatchByProjectId,
+                projectMemberRepository::deleteBatchByProjectId);
+        for (ToIntBiFunction<Long, Integer> step : steps) {
+            int deleted;
+            do {
+                if (budget[0]-- <= 0) {
+                    log.info("Удаление проекта {} продолжится при следующем запуске, удалено строк: {}", projectId, rows);
+                    return false;
+                }
+                deleted = step.applyAsInt(projectId, batchSize);
+                rows += deleted;
+            } while (deleted >= batchSize);
+        }
+        projectRepository.deletePurged(projectId);
+        log.info("Проект {} удалён, строк: {}", projectId, rows);
+        return true;
+    }
+}
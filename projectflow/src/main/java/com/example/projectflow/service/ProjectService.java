@@ -2,17 +2,21 @@ package com.example.projectflow.service;
 
 import com.example.projectflow.model.Project;
 import com.example.projectflow.repository.ProjectRepository;
-import com.example.projectflow.repository.ProjectMemberRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class ProjectService {
 
+    public static final int PAGE_SIZE = 20;
+
     @Autowired
     private ProjectRepository projectRepository;
 
@@ -20,12 +24,37 @@ public class ProjectService {
     private ProjectMemberService projectMemberService;
 
     @Autowired
-    private ProjectMemberRepository projectMemberRepository;
+    private ProjectIndexCache projectIndexCache;
+
+    @Autowired
+    private ProjectMembershipIndex projectMembershipIndex;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<Project> getAllProjects() {
         return projectRepository.findAll();
     }
 
+    /**
+     * Страница проектов от новых к старым. Без курсора — первая страница,
+     * иначе — проекты строго после (afterCreatedAt, afterId).
+     */
+    public KeysetPage<Project> getProjectsPage(LocalDateTime afterCreatedAt, Long afterId) {
+        return projectIndexCache.get(afterCreatedAt, afterId, () -> loadProjectsPage(afterCreatedAt, afterId));
+    }
+
+    private KeysetPage<Project> loadProjectsPage(LocalDateTime afterCreatedAt, Long afterId) {
+        PageRequest limit = PageRequest.of(0, PAGE_SIZE + 1);
+        List<Project> fetched = (afterCreatedAt == null || afterId == null)
+                ? projectRepository.findAllByOrderByCreatedAtDescIdDesc(limit)
+                : projectRepository.findPageAfter(afterCreatedAt, afterId, limit);
+        return KeysetPage.of(fetched, PAGE_SIZE, Project::getCreatedAt, Project::getId);
+    }
+
     public List<Project> getProjectsByOwnerId(Long ownerId) {
         return projectRepository.findByOwnerId(ownerId);
     }
@@ -35,7 +64,10 @@ public class ProjectService {
         project.setName(name);
         project.setDescription(description);
         project.setOwnerId(ownerId);
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        projectIndexCache.invalidate();
+        searchIndex.indexProject(saved.getId(), saved.getName(), saved.getDescription());
+        return saved;
     }
 
     public Optional<Project> getProjectById(Long id) {
@@ -48,12 +80,27 @@ public class ProjectService {
 
         project.setName(name);
         project.setDescription(description);
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        projectIndexCache.invalidate();
+        searchIndex.indexProject(saved.getId(), saved.getName(), saved.getDescription());
+        eventPublisher.publishEvent(ProjectEvent.of(id, "projectUpdated",
+                "name", saved.getName(),
+                "description", saved.getDescription()));
+        return saved;
     }
+    /**
+     * Проект скрывается сразу, а задачи, комментарии, приглашения и участников
+     * пачками удаляет ProjectPurger в фоне.
+     */
     @Transactional
     public void deleteProject(Long projectId) {
-        projectMemberRepository.deleteByProjectId(projectId);
-        projectRepository.deleteById(projectId);
+        if (projectRepository.markDeleted(projectId) == 0) {
+            return;
+        }
+        projectIndexCache.invalidate();
+        projectMembershipIndex.removeProject(projectId);
+        searchIndex.removeProject(projectId);
+        eventPublisher.publishEvent(ProjectEvent.of(projectId, "projectDeleted"));
     }
 
     public boolean isOwner(Long projectId, Long userId) {
@@ -0,0 +1,61 @@
+package com.example.projectflow.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Внутреннее состояние приложения в метриках: попадания в кэши страниц,
+ * подписчики SSE, размер поискового индекса и очередь хэширования паролей.
+ */
+@Component
+public class ProjectflowMetrics implements MeterBinder {
+
+    @Autowired
+    private ProjectIndexCache projectIndexCache;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private ProjectEventBroadcaster projectEventBroadcaster;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("projectflow.cache.hits", projectIndexCache, ProjectIndexCache::getHits)
+                .tag("cache", "project-index").register(registry);
+        FunctionCounter.builder("projectflow.cache.misses", projectIndexCache, ProjectIndexCache::getMisses)
+                .tag("cache", "project-index").register(registry);
+        Gauge.builder("projectflow.cache.size", projectIndexCache, ProjectIndexCache::size)
+                .tag("cache", "project-index").register(registry);
+
+        FunctionCounter.builder("projectflow.cache.hits", dashboardCache, DashboardCache::getHits)
+                .tag("cache", "dashboard").register(registry);
+        FunctionCounter.builder("projectflow.cache.misses", dashboardCache, DashboardCache::getMisses)
+                .tag("cache", "dashboard").register(registry);
+        Gauge.builder("projectflow.cache.size", dashboardCache, DashboardCache::size)
+                .tag("cache", "dashboard").register(registry);
+
+        Gauge.builder("projectflow.events.subscribers", projectEventBroadcaster, ProjectEventBroadcaster::getSubscriberCount)
+                .register(registry);
+
+        Gauge.builder("projectflow.search.documents", searchIndex, SearchIndex::getDocumentCount)
+                .register(registry);
+        Gauge.builder("projectflow.search.document.slots", searchIndex, SearchIndex::getDocumentSlotCount)
+                .register(registry);
+        FunctionCounter.builder("projectflow.search.queries", searchIndex, SearchIndex::getSearchCount)
+                .register(registry);
+
+        Gauge.builder("projectflow.password.queue", passwordHasher, PasswordHasher::getQueuedTasks)
+                .register(registry);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.projectflow.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL-операторы текущего HTTP-запроса: сколько выполнено и сколько времени заняли в JDBC.
+ * Открывается фильтром запроса; операторы считает {@link StatementCountingInspector},
+ * время — слушатель сессий {@link StatementMetricsListener}.
+ * В задачи {@link ParallelQueries} переносится через wrap, в асинхронную часть запроса — через resume.
+ */
+public final class RequestStatements {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    // Для отчёта о превышении бюджета хватит самых частых; остальные только считаются
+    private static final int MAX_DISTINCT_SQL = 50;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final Map<String, LongAdder> repeats = new ConcurrentHashMap<>();
+
+    private RequestStatements() {
+    }
+
+    public static RequestStatements begin() {
+        RequestStatements statements = new RequestStatements();
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    /**
+     * Продолжает счётчик запроса в другом потоке (асинхронная часть запроса).
+     */
+    public static void resume(RequestStatements statements) {
+        CURRENT.set(statements);
+    }
+
+    public static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Задача для другого потока, которая считает операторы в счётчик вызывающего запроса.
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        RequestStatements statements = CURRENT.get();
+        if (statements == null) {
+            return task;
+        }
+        return () -> {
+            RequestStatements previous = CURRENT.get();
+            CURRENT.set(statements);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    void recordStatement(String sql) {
+        count.increment();
+        LongAdder sqlRepeats = repeats.get(sql);
+        if (sqlRepeats == null && repeats.size() < MAX_DISTINCT_SQL) {
+            sqlRepeats = repeats.computeIfAbsent(sql, key -> new LongAdder());
+        }
+        if (sqlRepeats != null) {
+            sqlRepeats.increment();
+        }
+    }
+
+    void recordTime(long elapsedNanos) {
+        nanos.add(elapsedNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getNanos() {
+        return nanos.sum();
+    }
+
+    /**
+     * Самые частые операторы в виде «N× sql»: один и тот же запрос много раз подряд — признак N+1.
+     */
+    public List<String> getTopStatements(int limit) {
+        return repeats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(limit)
+                .map(entry -> entry.getValue().sum() + "× " + entry.getKey())
+                .toList();
+    }
+}
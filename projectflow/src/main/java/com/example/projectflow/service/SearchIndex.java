@@ -0,0 +1,644 @@
+package com.example.projectflow.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Полнотекстовый индекс в памяти: названия и описания проектов, названия задач, тексты комментариев.
+ * Инвертированный индекс (термин -> документы по возрастанию), ранжирование BM25,
+ * слова запроса от четырёх букв ищутся по префиксу. Заполняется из базы при старте
+ * (новый индекс строится без блокировки и подменяет старый), дальше обновляется
+ * из сервисов после коммита.
+ */
+@Component
+public class SearchIndex {
+
+    public enum Type { PROJECT, TASK, COMMENT }
+
+    public record Hit(Type type, long id, long projectId, double score) {
+    }
+
+    public record Result(int total, List<Hit> hits) {
+    }
+
+    private static final int MAX_QUERY_TERMS = 8;
+    // Сколько терминов максимум подставляется вместо одного префикса
+    private static final int MAX_EXPANSIONS = 64;
+    // Короткие слова ищутся только целиком, иначе префикс раскрывается в слишком много терминов
+    private static final int MIN_PREFIX_LENGTH = 4;
+    private static final int REBUILD_FETCH_SIZE = 1000;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Type[] TYPES = Type.values();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private IndexData data = new IndexData();
+
+    // Изменения, пришедшие во время перестроения; повторяются на новом индексе перед подменой
+    private List<Consumer<IndexData>> pendingChanges;
+
+    private final AtomicLong searches = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        IndexData fresh = new IndexData();
+        List<Consumer<IndexData>> changes = new ArrayList<>();
+        write(index -> pendingChanges = changes);
+        try {
+            // На PostgreSQL курсор с fetch size работает только внутри транзакции
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                stream("SELECT id, name, description FROM projects WHERE deleted = false", rs ->
+                        fresh.put(Type.PROJECT, rs.getLong(1), rs.getLong(1), join(rs.getString(2), rs.getString(3))));
+                stream("SELECT t.id, t.project_id, t.name FROM tasks t JOIN projects p ON p.id = t.project_id " +
+                        "WHERE p.deleted = false", rs ->
+                        fresh.put(Type.TASK, rs.getLong(1), rs.getLong(2), rs.getString(3)));
+                stream("SELECT c.id, c.project_id, c.text FROM comments c JOIN projects p ON p.id = c.project_id " +
+                        "WHERE p.deleted = false", rs ->
+                        fresh.put(Type.COMMENT, rs.getLong(1), rs.getLong(2), rs.getString(3)));
+            });
+        } catch (RuntimeException e) {
+            write(index -> pendingChanges = null);
+            throw e;
+        }
+        // Изменения идемпотентны: повтор уже прочитанного из базы ничего не портит
+        write(index -> {
+            changes.forEach(change -> change.accept(fresh));
+            data = fresh;
+            pendingChanges = null;
+        });
+    }
+
+    public void indexProject(long projectId, String name, String description) {
+        afterCommit(() -> write(index -> index.put(Type.PROJECT, projectId, projectId, join(name, description))));
+    }
+
+    public void indexTask(long taskId, long projectId, String name) {
+        afterCommit(() -> write(index -> index.put(Type.TASK, taskId, projectId, name)));
+    }
+
+    public void indexComment(long commentId, long projectId, String text) {
+        afterCommit(() -> write(index -> index.put(Type.COMMENT, commentId, projectId, text)));
+    }
+
+    public void remove(Type type, long id) {
+        afterCommit(() -> write(index -> index.remove(type, id)));
+    }
+
+    // Проект вместе с его задачами и комментариями
+    public void removeProject(long projectId) {
+        afterCommit(() -> write(index -> index.removeProject(projectId)));
+    }
+
+    /**
+     * Добавляет в индекс задачи проекта с id больше afterId (после пакетной вставки без сущностей).
+     * Возвращает наибольший проиндексированный id.
+     */
+    public long indexTasksAfter(long projectId, long afterId) {
+        long[] lastId = {afterId};
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, name FROM tasks WHERE project_id = ? AND id > ? ORDER BY id",
+                (RowCallbackHandler) rs -> {
+                    rows.add(new Object[]{rs.getLong(1), rs.getString(2)});
+                    lastId[0] = rs.getLong(1);
+                }, projectId, afterId);
+        write(index -> rows.forEach(row -> index.put(Type.TASK, (Long) row[0], projectId, (String) row[1])));
+        return lastId[0];
+    }
+
+    /**
+     * Поиск: документ должен содержать каждое слово запроса (как префикс термина).
+     * Задачи попадают в выдачу, только если canSeeTasks разрешает их проект.
+     */
+    public Result search(String query, LongPredicate canSeeTasks, int offset, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty()) {
+            return new Result(0, List.of());
+        }
+        if (tokens.size() > MAX_QUERY_TERMS) {
+            tokens = tokens.subList(0, MAX_QUERY_TERMS);
+        }
+        searches.incrementAndGet();
+
+        lock.readLock().lock();
+        try {
+            IndexData index = data;
+            if (index.liveDocs == 0) {
+                return new Result(0, List.of());
+            }
+            double avgLength = Math.max(1.0, (double) index.totalLength / index.liveDocs);
+
+            // Для каждого слова — сам термин и, для слов от MIN_PREFIX_LENGTH букв, термины с таким префиксом
+            List<List<Postings>> groups = new ArrayList<>();
+            for (String token : tokens) {
+                List<Postings> group = index.expand(token);
+                if (group.isEmpty()) {
+                    return new Result(0, List.of());
+                }
+                groups.add(group);
+            }
+            // Кандидаты берём из самого редкого слова, остальные только проверяем
+            groups.sort(Comparator.comparingInt(SearchIndex::groupSize));
+
+            Candidates candidates = index.collect(groups.get(0), canSeeTasks, avgLength);
+            for (int g = 1; g < groups.size() && candidates.size > 0; g++) {
+                candidates.retain(groups.get(g), index, avgLength);
+            }
+
+            int[] top = candidates.top(offset + limit);
+            List<Hit> hits = new ArrayList<>();
+            for (int i = offset; i < top.length; i++) {
+                int doc = candidates.docs[top[i]];
+                hits.add(new Hit(TYPES[index.docTypes[doc]], index.docEntityIds[doc], index.docProjectIds[doc],
+                        candidates.scores[top[i]]));
+            }
+            return new Result(candidates.size, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return data.liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Занятые номера документов, включая удалённые до ближайшего уплотнения
+    public int getDocumentSlotCount() {
+        lock.readLock().lock();
+        try {
+            return data.docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getSearchCount() {
+        return searches.get();
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static double idf(int docFrequency, int liveDocs) {
+        return Math.log(1 + (liveDocs - docFrequency + 0.5) / (docFrequency + 0.5));
+    }
+
+    private static double tfNorm(int tf, int length, double avgLength) {
+        return tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+    }
+
+    private static int groupSize(List<Postings> group) {
+        int size = 0;
+        for (Postings postings : group) {
+            size += postings.size;
+        }
+        return size;
+    }
+
+    private void stream(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(REBUILD_FETCH_SIZE);
+            return statement;
+        }, handler);
+    }
+
+    private void write(Consumer<IndexData> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(data);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String join(String first, String second) {
+        return second == null ? first : first + " " + second;
+    }
+
+    // Внутри транзакции меняем индекс только после успешного коммита
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Содержимое индекса: термины и документы. Меняется под блокировкой записи,
+     * читается под блокировкой чтения; при перестроении заполняется без блокировки.
+     */
+    private static final class IndexData {
+
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+
+        // Документы нумеруются подряд; номера удалённых освобождаются при уплотнении
+        private byte[] docTypes = new byte[INITIAL_CAPACITY];
+        private long[] docEntityIds = new long[INITIAL_CAPACITY];
+        private long[] docProjectIds = new long[INITIAL_CAPACITY];
+        private int[] docLengths = new int[INITIAL_CAPACITY];
+        private int docCount;
+        private int liveDocs;
+        private BitSet deleted = new BitSet();
+        // Удалённые документы, которые ещё занимают номера и остаются в списках терминов
+        private int pendingDeletes;
+        private long totalLength;
+
+        // По одной карте на тип сущности, индекс — ordinal() типа
+        private final List<Map<Long, Integer>> docsByEntity = List.of(new HashMap<>(), new HashMap<>(), new HashMap<>());
+        // Документы проекта, в том числе уже удалённые, — до ближайшего уплотнения
+        private Map<Long, DocList> docsByProject = new HashMap<>();
+
+        List<Postings> expand(String token) {
+            List<Postings> group = new ArrayList<>();
+            if (token.length() < MIN_PREFIX_LENGTH) {
+                Postings exact = terms.get(token);
+                if (exact != null) {
+                    group.add(exact);
+                }
+                return group;
+            }
+            for (Postings postings : terms.subMap(token, true, token + Character.MAX_VALUE, true).values()) {
+                group.add(postings);
+                if (group.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+            }
+            return group;
+        }
+
+        Candidates collect(List<Postings> group, LongPredicate canSeeTasks, double avgLength) {
+            Candidates candidates = new Candidates(groupSize(group));
+            for (Postings postings : group) {
+                double idf = idf(postings.size, liveDocs);
+                for (int i = 0; i < postings.size; i++) {
+                    int doc = postings.docs[i];
+                    if (deleted.get(doc) || !visible(doc, canSeeTasks)) {
+                        continue;
+                    }
+                    candidates.add(doc, idf * tfNorm(postings.tfs[i], docLengths[doc], avgLength));
+                }
+            }
+            // Документ мог попасть сюда из нескольких терминов одного префикса
+            if (group.size() > 1) {
+                candidates.mergeDuplicates();
+            }
+            return candidates;
+        }
+
+        private boolean visible(int doc, LongPredicate canSeeTasks) {
+            return docTypes[doc] != Type.TASK.ordinal() || canSeeTasks.test(docProjectIds[doc]);
+        }
+
+        void put(Type type, long id, long projectId, String text) {
+            Integer existing = docsByEntity.get(type.ordinal()).get(id);
+            if (existing != null) {
+                delete(existing);
+            }
+
+            List<String> tokens = tokenize(text);
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : tokens) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+
+            int doc = docCount++;
+            if (doc == docTypes.length) {
+                resize(docTypes.length * 2);
+            }
+            docTypes[doc] = (byte) type.ordinal();
+            docEntityIds[doc] = id;
+            docProjectIds[doc] = projectId;
+            docLengths[doc] = tokens.size();
+            totalLength += tokens.size();
+            liveDocs++;
+            docsByEntity.get(type.ordinal()).put(id, doc);
+            docsByProject.computeIfAbsent(projectId, key -> new DocList()).add(doc);
+
+            frequencies.forEach((term, tf) -> terms.computeIfAbsent(term, t -> new Postings()).add(doc, tf));
+            compactIfNeeded();
+        }
+
+        void remove(Type type, long id) {
+            Integer doc = docsByEntity.get(type.ordinal()).get(id);
+            if (doc != null) {
+                delete(doc);
+                compactIfNeeded();
+            }
+        }
+
+        void removeProject(long projectId) {
+            DocList docs = docsByProject.remove(projectId);
+            if (docs == null) {
+                return;
+            }
+            for (int i = 0; i < docs.size; i++) {
+                int doc = docs.docs[i];
+                if (!deleted.get(doc)) {
+                    delete(doc);
+                }
+            }
+            compactIfNeeded();
+        }
+
+        private void delete(int doc) {
+            deleted.set(doc);
+            pendingDeletes++;
+            liveDocs--;
+            totalLength -= docLengths[doc];
+            docsByEntity.get(docTypes[doc]).remove(docEntityIds[doc]);
+        }
+
+        // Когда удалённых много, живые документы перенумеровываются подряд, а массивы ужимаются
+        private void compactIfNeeded() {
+            if (pendingDeletes <= 1024 || pendingDeletes <= liveDocs / 4) {
+                return;
+            }
+            // Номера сдвигаются монотонно, поэтому списки терминов остаются упорядоченными
+            int[] renumbered = new int[docCount];
+            int next = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (deleted.get(doc)) {
+                    renumbered[doc] = -1;
+                } else {
+                    renumbered[doc] = next;
+                    docTypes[next] = docTypes[doc];
+                    docEntityIds[next] = docEntityIds[doc];
+                    docProjectIds[next] = docProjectIds[doc];
+                    docLengths[next] = docLengths[doc];
+                    next++;
+                }
+            }
+            docCount = next;
+            resize(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(docCount, 1)) << 1));
+            terms.values().removeIf(postings -> postings.renumber(renumbered) == 0);
+
+            docsByProject = new HashMap<>();
+            for (int doc = 0; doc < docCount; doc++) {
+                docsByEntity.get(docTypes[doc]).put(docEntityIds[doc], doc);
+                docsByProject.computeIfAbsent(docProjectIds[doc], key -> new DocList()).add(doc);
+            }
+            deleted = new BitSet();
+            pendingDeletes = 0;
+        }
+
+        private void resize(int capacity) {
+            docTypes = Arrays.copyOf(docTypes, capacity);
+            docEntityIds = Arrays.copyOf(docEntityIds, capacity);
+            docProjectIds = Arrays.copyOf(docProjectIds, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+        }
+    }
+
+    /**
+     * Найденные документы и их оценки в параллельных массивах, без упаковки в объекты.
+     */
+    private static final class Candidates {
+        private int[] docs;
+        private double[] scores;
+        private int size;
+
+        Candidates(int capacity) {
+            docs = new int[Math.max(capacity, 1)];
+            scores = new double[docs.length];
+        }
+
+        void add(int doc, double score) {
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+
+        // Сортирует по номеру документа и складывает оценки повторов
+        void mergeDuplicates() {
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((long) docs[i] << 32) | i;
+            }
+            Arrays.sort(keys);
+            int[] mergedDocs = new int[size];
+            double[] mergedScores = new double[size];
+            int merged = 0;
+            for (long key : keys) {
+                int doc = (int) (key >>> 32);
+                double score = scores[(int) key];
+                if (merged > 0 && mergedDocs[merged - 1] == doc) {
+                    mergedScores[merged - 1] += score;
+                } else {
+                    mergedDocs[merged] = doc;
+                    mergedScores[merged] = score;
+                    merged++;
+                }
+            }
+            docs = mergedDocs;
+            scores = mergedScores;
+            size = merged;
+        }
+
+        // Оставляет документы, где есть хотя бы один термин группы, и добавляет их оценку
+        void retain(List<Postings> group, IndexData index, double avgLength) {
+            double[] idfs = new double[group.size()];
+            for (int t = 0; t < idfs.length; t++) {
+                idfs[t] = idf(group.get(t).size, index.liveDocs);
+            }
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = docs[i];
+                double score = 0;
+                boolean found = false;
+                for (int t = 0; t < idfs.length; t++) {
+                    Postings postings = group.get(t);
+                    int pos = Arrays.binarySearch(postings.docs, 0, postings.size, doc);
+                    if (pos >= 0) {
+                        found = true;
+                        score += idfs[t] * tfNorm(postings.tfs[pos], index.docLengths[doc], avgLength);
+                    }
+                }
+                if (found) {
+                    docs[kept] = doc;
+                    scores[kept] = scores[i] + score;
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        // Позиции лучших limit документов по убыванию оценки, при равенстве — более новые
+        int[] top(int limit) {
+            int count = Math.min(limit, size);
+            int[] heap = new int[count];
+            int heapSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (heapSize < count) {
+                    heap[heapSize] = i;
+                    siftUp(heap, heapSize++);
+                } else if (count > 0 && better(i, heap[0])) {
+                    heap[0] = i;
+                    siftDown(heap, heapSize);
+                }
+            }
+            // Разбираем кучу с конца: минимальный элемент уходит в хвост
+            int[] result = new int[heapSize];
+            for (int n = heapSize; n > 0; n--) {
+                result[n - 1] = heap[0];
+                heap[0] = heap[n - 1];
+                siftDown(heap, n - 1);
+            }
+            return result;
+        }
+
+        private boolean better(int a, int b) {
+            return scores[a] != scores[b] ? scores[a] > scores[b] : docs[a] > docs[b];
+        }
+
+        private void siftUp(int[] heap, int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!better(heap[parent], heap[i])) {
+                    break;
+                }
+                int tmp = heap[parent];
+                heap[parent] = heap[i];
+                heap[i] = tmp;
+                i = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int i = 0;
+            while (true) {
+                int left = 2 * i + 1;
+                int right = left + 1;
+                int smallest = i;
+                if (left < size && better(heap[smallest], heap[left])) {
+                    smallest = left;
+                }
+                if (right < size && better(heap[smallest], heap[right])) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                int tmp = heap[smallest];
+                heap[smallest] = heap[i];
+                heap[i] = tmp;
+                i = smallest;
+            }
+        }
+    }
+
+    /**
+     * Список документов термина по возрастанию номера и частоты термина в них.
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] tfs = new int[4];
+        private int size;
+
+        void add(int doc, int tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = tf;
+            size++;
+        }
+
+        // Новые номера документов; -1 — документ удалён
+        int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    tfs[kept] = tfs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (docs.length > 4 && size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, size * 2));
+                tfs = Arrays.copyOf(tfs, docs.length);
+            }
+            return kept;
+        }
+    }
+
+    /**
+     * Номера документов одного проекта в порядке добавления.
+     */
+    private static final class DocList {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.projectflow.service;
+
+import java.util.List;
+
+/**
+ * Страница результатов поиска в порядке ранжирования.
+ */
+public class SearchResults {
+
+    public record Item(SearchIndex.Type type, Long projectId, String projectName, String text) {
+    }
+
+    private final List<Item> items;
+    private final int total;
+    private final int page;
+    private final int pageSize;
+
+    public SearchResults(List<Item> items, int total, int page, int pageSize) {
+        this.items = items;
+        this.total = total;
+        this.page = page;
+        this.pageSize = pageSize;
+    }
+
+    public static SearchResults empty() {
+        return new SearchResults(List.of(), 0, 0, SearchService.PAGE_SIZE);
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public boolean hasPrevious() {
+        return page > 0;
+    }
+
+    public boolean hasNext() {
+        return (long) (page + 1) * pageSize < total;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.repository.CommentRepository;
+import com.example.projectflow.repository.ProjectRepository;
+import com.example.projectflow.repository.SearchRow;
+import com.example.projectflow.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Поиск по проектам, задачам и комментариям. Ранжирует SearchIndex,
+ * тексты для одной страницы выдачи читаются из базы — не больше одного запроса на тип.
+ */
+@Service
+public class SearchService {
+
+    public static final int PAGE_SIZE = 20;
+    private static final int MAX_PAGE = 50;
+    private static final int SNIPPET_LENGTH = 200;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ProjectMembershipIndex projectMembershipIndex;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    /**
+     * Задачи видны только участникам их проектов; проекты и комментарии — всем.
+     */
+    public SearchResults search(String query, Long userId, int page) {
+        if (query == null || query.isBlank()) {
+            return SearchResults.empty();
+        }
+        page = Math.max(0, Math.min(page, MAX_PAGE));
+
+        SearchIndex.Result result = searchIndex.search(query,
+                projectId -> userId != null && projectMembershipIndex.isMember(projectId, userId),
+                page * PAGE_SIZE, PAGE_SIZE);
+
+        Map<SearchIndex.Type, List<Long>> idsByType = new EnumMap<>(SearchIndex.Type.class);
+        for (SearchIndex.Hit hit : result.hits()) {
+            idsByType.computeIfAbsent(hit.type(), type -> new ArrayList<>()).add(hit.id());
+        }
+
+        Map<SearchIndex.Type, Map<Long, SearchRow>> rows = new EnumMap<>(SearchIndex.Type.class);
+        idsByType.forEach((type, ids) -> {
+            List<SearchRow> loaded = switch (type) {
+                case PROJECT -> projectRepository.findSearchRows(ids);
+                case TASK -> taskRepository.findSearchRows(ids);
+                case COMMENT -> commentRepository.findSearchRows(ids);
+            };
+            Map<Long, SearchRow> byId = new HashMap<>();
+            loaded.forEach(row -> byId.put(row.getId(), row));
+            rows.put(type, byId);
+        });
+
+        List<SearchResults.Item> items = new ArrayList<>();
+        for (SearchIndex.Hit hit : result.hits()) {
+            SearchRow row = rows.get(hit.type()).get(hit.id());
+            // Строку могли удалить между поиском и чтением
+            if (row != null) {
+                items.add(new SearchResults.Item(hit.type(), row.getProjectId(), row.getTitle(), snippet(row.getText())));
+            }
+        }
+        return new SearchResults(items, result.total(), page, PAGE_SIZE);
+    }
+
+    private static String snippet(String text) {
+        if (text == null || text.length() <= SNIPPET_LENGTH) {
+            return text;
+        }
+        return text.substring(0, SNIPPET_LENGTH) + "…";
+    }
+}
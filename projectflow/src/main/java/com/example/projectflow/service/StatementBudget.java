@@ -0,0 +1,69 @@
+package com.example.projectflow.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Бюджет SQL-операторов на один запрос по маршруту (шаблон URI, например /projects/{id}).
+ * Превышение в работе пишется в лог, в тестах (fail-on-violation) — исключение,
+ * чтобы лишние запросы от изменения шаблона или связи (N+1) ломали сборку.
+ */
+@Component
+@ConfigurationProperties(prefix = "projectflow.statements")
+public class StatementBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementBudget.class);
+
+    private int defaultBudget = 30;
+
+    private Map<String, Integer> routes = new HashMap<>();
+
+    private boolean failOnViolation;
+
+    public int budgetFor(String route) {
+        return routes.getOrDefault(route, defaultBudget);
+    }
+
+    public void check(String route, RequestStatements statements) {
+        int budget = budgetFor(route);
+        long count = statements.getCount();
+        if (count <= budget) {
+            return;
+        }
+        String message = "Маршрут " + route + ": " + count + " SQL-операторов при бюджете " + budget
+                + ", чаще всего: " + statements.getTopStatements(3);
+        if (failOnViolation) {
+            throw new StatementBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    public int getDefaultBudget() {
+        return defaultBudget;
+    }
+
+    public void setDefaultBudget(int defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+
+    public Map<String, Integer> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Integer> routes) {
+        this.routes = routes;
+    }
+
+    public boolean isFailOnViolation() {
+        return failOnViolation;
+    }
+
+    public void setFailOnViolation(boolean failOnViolation) {
+        this.failOnViolation = failOnViolation;
+    }
+}
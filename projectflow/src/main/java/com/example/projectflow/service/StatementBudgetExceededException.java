@@ -0,0 +1,11 @@
+package com.example.projectflow.service;
+
+/**
+ * Запрос выполнил больше SQL-операторов, чем разрешено бюджетом его маршрута.
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.projectflow.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Через инспектор проходит каждый SQL, который Hibernate готовит к выполнению:
+ * он засчитывается в {@link RequestStatements} текущего запроса, сам текст не меняется.
+ * Подключается свойством hibernate.session_factory.statement_inspector.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = RequestStatements.current();
+        if (statements != null) {
+            statements.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.projectflow.service;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Слушатель сессии Hibernate: время выполнения операторов и пакетов
+ * засчитывается в {@link RequestStatements} потока, где они выполнены.
+ * Подключается свойством hibernate.session.events.auto, экземпляр создаётся на каждую сессию.
+ */
+public class StatementMetricsListener implements SessionEventListener {
+
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        RequestStatements statements = RequestStatements.current();
+        if (statements != null) {
+            statements.recordTime(System.nanoTime() - startedAt);
+        }
+    }
+}
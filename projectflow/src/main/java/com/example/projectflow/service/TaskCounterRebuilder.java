@@ -0,0 +1,76 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.repository.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Разовый пересчёт счётчиков задач по таблице tasks (миграция после добавления колонок).
+ * Идёт по проектам небольшими пачками, каждая в своей транзакции: строки пачки
+ * блокируются перед подсчётом, так что одновременные сдвиги счётчиков не теряются
+ * и ждут не дольше одной пачки.
+ * <p>
+ * При старте пересчёт запускается сам, если у какого-то проекта есть задачи, а все
+ * счётчики нулевые (колонки только что добавлены через ddl-auto), либо по флагу.
+ */
+@Component
+public class TaskCounterRebuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounterRebuilder.class);
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectIndexCache projectIndexCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${projectflow.projects.rebuild-task-counters-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${projectflow.projects.rebuild-task-counters-batch-size:100}")
+    private int batchSize;
+
+    public int rebuildAll() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int rebuilt = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = projectRepository.findIdsAfter(afterId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer updated = transaction.execute(status -> {
+                projectRepository.lockForRecount(ids);
+                return projectRepository.rebuildTaskCounters(ids);
+            });
+            rebuilt += updated != null ? updated : 0;
+            afterId = ids.get(ids.size() - 1);
+        }
+        projectIndexCache.invalidate();
+        return rebuilt;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            if (projectRepository.findIdsWithUncountedTasks(1).isEmpty()) {
+                return;
+            }
+            log.warn("Счётчики задач не заполнены (есть проекты с задачами и нулевыми счётчиками), "
+                    + "запускается полный пересчёт");
+        }
+        log.info("Пересчитаны счётчики задач для {} проектов", rebuildAll());
+    }
+}
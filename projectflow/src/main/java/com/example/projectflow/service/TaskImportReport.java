@@ -0,0 +1,57 @@
+package com.example.projectflow.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Итог импорта задач. Ошибки хранятся только первые MAX_ERRORS, остальные лишь считаются.
+ */
+public class TaskImportReport {
+
+    public static final int MAX_ERRORS = 100;
+
+    public record RowError(long row, String message) {
+    }
+
+    private long imported;
+    private long failed;
+    private boolean aborted;
+    private final List<RowError> errors = new ArrayList<>();
+
+    void addImported(long count) {
+        imported += count;
+    }
+
+    void addError(long row, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    void abort(long row, String message) {
+        aborted = true;
+        errors.add(new RowError(row, message));
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    // Файл не дочитан (ошибка формата); уже записанные пакеты остаются в базе
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public boolean isErrorsTruncated() {
+        return failed > MAX_ERRORS;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.projectflow.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Строка импорта задач: название, логин исполнителя и необязательный статус.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TaskImportRow(String name, String assignee, String status) {
+}
@@ -0,0 +1,183 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.model.TaskStatus;
+import com.example.projectflow.repository.MemberLogin;
+import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.repository.ProjectRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Потоковый импорт задач из CSV или JSON.
+ * Файл читается по одной строке, задачи пишутся пакетами через JDBC batch,
+ * каждый пакет — в своей транзакции. Память не зависит от размера файла.
+ */
+@Service
+public class TaskImportService {
+
+    public enum Format { CSV, JSON }
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO tasks (name, project_id, assigned_member_id, status, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ProjectIndexCache projectIndexCache;
+
+    @Value("${projectflow.import.batch-size:500}")
+    private int batchSize;
+
+    public TaskImportReport importTasks(Long projectId, InputStream input, Format format) throws IOException {
+        if (!projectRepository.existsById(projectId)) {
+            throw new RuntimeException("Project not found");
+        }
+
+        // Исполнители определяются один раз на весь файл: логин -> ID в project_members
+        Map<String, Long> memberIdsByLogin = new HashMap<>();
+        for (MemberLogin member : projectMemberRepository.findMemberLoginsByProjectId(projectId)) {
+            memberIdsByLogin.put(member.getLogin(), member.getMemberId());
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        TaskImportReport report = new TaskImportReport();
+        // Пакетная вставка не возвращает id — новые задачи для поиска берём по id больше прежнего максимума
+        Long maxTaskId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tasks WHERE project_id = ?", Long.class, projectId);
+        long[] lastIndexedId = {maxTaskId != null ? maxTaskId : 0L};
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long row = 0;
+
+        try (MappingIterator<TaskImportRow> rows = reader(format).readValues(input)) {
+            while (rows.hasNextValue()) {
+                row++;
+                TaskImportRow source = rows.nextValue();
+
+                String name = source.name() != null ? source.name().trim() : "";
+                if (name.isEmpty()) {
+                    report.addError(row, "Не указано название задачи");
+                    continue;
+                }
+                if (name.length() > MAX_NAME_LENGTH) {
+                    report.addError(row, "Название длиннее " + MAX_NAME_LENGTH + " символов");
+                    continue;
+                }
+
+                Long memberId = source.assignee() != null ? memberIdsByLogin.get(source.assignee().trim()) : null;
+                if (memberId == null) {
+                    report.addError(row, "Исполнитель не является участником проекта: " + source.assignee());
+                    continue;
+                }
+
+                TaskStatus status = parseStatus(source.status());
+                if (status == null) {
+                    report.addError(row, "Неизвестный статус: " + source.status());
+                    continue;
+                }
+
+                batch.add(new Object[]{name, projectId, memberId, status.name(), Timestamp.valueOf(LocalDateTime.now())});
+                if (batch.size() >= batchSize) {
+                    flush(projectId, batch, transaction, report, lastIndexedId);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Дальше файл не разобрать — сохраняем то, что уже прочитано
+            report.abort(row + 1, "Ошибка формата: " + e.getOriginalMessage());
+        }
+
+        flush(projectId, batch, transaction, report, lastIndexedId);
+        if (report.getImported() > 0) {
+            eventPublisher.publishEvent(ProjectEvent.of(projectId, "tasksImported", "imported", report.getImported()));
+        }
+        return report;
+    }
+
+    private ObjectReader reader(Format format) {
+        if (format == Format.CSV) {
+            return CSV_MAPPER.readerFor(TaskImportRow.class)
+                    .with(CsvSchema.emptySchema().withHeader().withColumnReordering(true));
+        }
+        // JSON — массив объектов, читается поэлементно
+        return objectMapper.readerFor(TaskImportRow.class);
+    }
+
+    private void flush(Long projectId, List<Object[]> batch, TransactionTemplate transaction, TaskImportReport report,
+                       long[] lastIndexedId) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Счётчики задач проекта сдвигаются в той же транзакции, что и вставка пакета
+        int[] added = new int[TaskStatus.values().length];
+        for (Object[] row : batch) {
+            added[TaskStatus.valueOf((String) row[3]).ordinal()]++;
+        }
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            projectRepository.adjustTaskCounters(projectId, added[TaskStatus.PENDING.ordinal()],
+                    added[TaskStatus.IN_PROGRESS.ordinal()], added[TaskStatus.DONE.ordinal()]);
+        });
+        projectIndexCache.evictProject(projectId);
+        report.addImported(batch.size());
+        batch.clear();
+        lastIndexedId[0] = searchIndex.indexTasksAfter(projectId, lastIndexedId[0]);
+
+        eventPublisher.publishEvent(ProjectEvent.of(projectId, "importProgress",
+                "imported", report.getImported(),
+                "failed", report.getFailed()));
+    }
+
+    private TaskStatus parseStatus(String value) {
+        if (value == null || value.isBlank()) {
+            return TaskStatus.PENDING;
+        }
+        String trimmed = value.trim();
+        for (TaskStatus status : TaskStatus.values()) {
+            if (status.name().equalsIgnoreCase(trimmed) || status.getDisplayName().equalsIgnoreCase(trimmed)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
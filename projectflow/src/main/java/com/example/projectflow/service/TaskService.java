@@ -4,17 +4,31 @@ import com.example.projectflow.model.Project;
 import com.example.projectflow.model.ProjectMember;
 import com.example.projectflow.model.Task;
 import com.example.projectflow.model.TaskStatus;
+import com.example.projectflow.repository.AssignedTaskRow;
 import com.example.projectflow.repository.ProjectMemberRepository;
 import com.example.projectflow.repository.TaskRepository;
 import com.example.projectflow.repository.ProjectRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @Service
 public class TaskService {
 
+    // Ограничение размера списка в IN (...) за один запрос
+    public static final int BULK_CHUNK_SIZE = 500;
+
+    public static final int MY_TASKS_PAGE_SIZE = 50;
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -24,6 +38,16 @@ public class TaskService {
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ProjectIndexCache projectIndexCache;
+
+    @Transactional
     public Task createTask(String name, Long projectId, Long assignedMemberId) {
         // assignedMemberId — это ID из таблицы project_members
         ProjectMember member = projectMemberRepository.findById(assignedMemberId).orElseThrow(() -> new RuntimeException("Member not found"));
@@ -36,17 +60,104 @@ public class TaskService {
         task.setAssignedMember(member);
         task.setStatus(TaskStatus.PENDING);
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        adjustCounters(projectId, TaskStatus.PENDING, 1);
+        searchIndex.indexTask(saved.getId(), projectId, saved.getName());
+        eventPublisher.publishEvent(ProjectEvent.of(projectId, "taskCreated",
+                "id", saved.getId(),
+                "name", saved.getName(),
+                "status", saved.getStatus().name(),
+                "statusName", saved.getStatus().getDisplayName(),
+                "assigneeUserId", member.getUser().getId(),
+                "assigneeLogin", member.getUser().getLogin()));
+        return saved;
     }
 
     public List<Task> getTasksByProjectId(Long projectId) {
         return taskRepository.findByProjectId(projectId);
     }
 
+    /**
+     * Задачи пользователя во всех его проектах, от новых к старым.
+     * Пустой набор статусов — без фильтра. Без курсора — первая страница.
+     */
+    public KeysetPage<AssignedTaskRow> getMyTasksPage(Long userId, Collection<TaskStatus> statuses,
+                                                      LocalDateTime afterCreatedAt, Long afterId) {
+        Collection<TaskStatus> filter = (statuses == null || statuses.isEmpty())
+                ? EnumSet.allOf(TaskStatus.class)
+                : statuses;
+        PageRequest limit = PageRequest.of(0, MY_TASKS_PAGE_SIZE + 1);
+        List<AssignedTaskRow> fetched = (afterCreatedAt == null || afterId == null)
+                ? taskRepository.findAssignedToUser(userId, filter, limit)
+                : taskRepository.findAssignedToUserAfter(userId, filter, afterCreatedAt, afterId, limit);
+        return KeysetPage.of(fetched, MY_TASKS_PAGE_SIZE, AssignedTaskRow::getCreatedAt, AssignedTaskRow::getId);
+    }
+
+    @Transactional
     public Task updateTaskStatus(Long taskId, TaskStatus status) {
-        Task task = taskRepository.findById(taskId).orElseThrow(() -> new RuntimeException("Task not found"));
+        Task task = taskRepository.findByIdForUpdate(taskId).orElseThrow(() -> new RuntimeException("Task not found"));
+        TaskStatus previous = task.getStatus();
+        if (previous == status) {
+            return task;
+        }
         task.setStatus(status);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        adjustCounters(task.getProject().getId(), previous, -1);
+        adjustCounters(task.getProject().getId(), status, 1);
+        eventPublisher.publishEvent(ProjectEvent.of(task.getProject().getId(), "taskStatus",
+                "id", taskId,
+                "status", status.name(),
+                "statusName", status.getDisplayName()));
+        return saved;
+    }
+
+    /**
+     * Массовая смена статуса задач проекта: на каждые BULK_CHUNK_SIZE задач один SELECT
+     * и по одному UPDATE на каждый прежний статус, затем один сдвиг счётчиков проекта.
+     * Если assigneeUserId не null, меняются только задачи, назначенные этому пользователю.
+     * Возвращает ID задач, статус которых изменился.
+     */
+    @Transactional
+    public List<Long> updateTaskStatuses(Long projectId, Collection<Long> taskIds, TaskStatus status, Long assigneeUserId) {
+        List<Long> updated = new ArrayList<>();
+        if (taskIds == null || taskIds.isEmpty()) {
+            return updated;
+        }
+
+        int[] deltas = new int[TaskStatus.values().length];
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(taskIds));
+        for (int from = 0; from < distinctIds.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinctIds.size()));
+            List<Long> ids = assigneeUserId == null
+                    ? taskRepository.findIdsToChangeStatus(projectId, chunk, status)
+                    : taskRepository.findAssignedIdsToChangeStatus(projectId, chunk, status, assigneeUserId);
+            if (ids.isEmpty()) {
+                continue;
+            }
+            for (TaskStatus previous : TaskStatus.values()) {
+                if (previous == status) {
+                    continue;
+                }
+                int changed = taskRepository.updateStatusFrom(ids, previous, status);
+                deltas[previous.ordinal()] -= changed;
+                deltas[status.ordinal()] += changed;
+            }
+            updated.addAll(ids);
+        }
+
+        if (!updated.isEmpty()) {
+            projectRepository.adjustTaskCounters(projectId, deltas[TaskStatus.PENDING.ordinal()],
+                    deltas[TaskStatus.IN_PROGRESS.ordinal()], deltas[TaskStatus.DONE.ordinal()]);
+            projectIndexCache.evictProject(projectId);
+        }
+
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(ProjectEvent.of(projectId, "taskStatusBulk",
+                    "ids", updated,
+                    "status", status.name(),
+                    "statusName", status.getDisplayName()));
+        }
+        return updated;
     }
 
     public Task updateTaskAssignee(Long taskId, Long newMemberId) {
@@ -56,11 +167,27 @@ public class TaskService {
         return taskRepository.save(task);
     }
 
-    public void deleteTask(Long taskId) {
-        taskRepository.deleteById(taskId);
+    @Transactional
+    public void deleteTask(Long projectId, Long taskId) {
+        Task task = taskRepository.findByIdForUpdate(taskId).orElseThrow(() -> new RuntimeException("Task not found"));
+        if (!task.getProject().getId().equals(projectId)) {
+            throw new RuntimeException("Task not found");
+        }
+        taskRepository.delete(task);
+        adjustCounters(projectId, task.getStatus(), -1);
+        searchIndex.remove(SearchIndex.Type.TASK, taskId);
+        eventPublisher.publishEvent(ProjectEvent.of(projectId, "taskDeleted", "id", taskId));
     }
 
     public Task findById(Long taskId) {
         return taskRepository.findById(taskId).orElseThrow(() -> new RuntimeException("Task not found"));
     }
-}
\ No newline at end of file
+
+    private void adjustCounters(Long projectId, TaskStatus status, int delta) {
+        projectRepository.adjustTaskCounters(projectId,
+                status == TaskStatus.PENDING ? delta : 0,
+                status == TaskStatus.IN_PROGRESS ? delta : 0,
+                status == TaskStatus.DONE ? delta : 0);
+        projectIndexCache.evictProject(projectId);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.projectflow.service;
+
+import com.example.projectflow.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Отсортированный индекс логинов для поиска пользователей по префиксу
+ * и обратная карта id → логин.
+ * Заполняется при старте и пополняется в UserService.register.
+ */
+@Component
+public class UserLoginIndex {
+
+    public static final int MAX_RESULTS = 20;
+
+    public record Entry(Long id, String login) {}
+
+    // Ключ: логин в нижнем регистре + '\0' + исходный логин (логины уникальны с учётом регистра)
+    private final ConcurrentSkipListMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentHashMap<Long, String> loginsById = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        entries.clear();
+        loginsById.clear();
+        userRepository.findAllLogins().forEach(user -> add(user.getId(), user.getLogin()));
+    }
+
+    public void add(Long id, String login) {
+        entries.put(key(login), new Entry(id, login));
+        if (id != null) {
+            loginsById.put(id, login);
+        }
+    }
+
+    public String getLogin(Long id) {
+        return loginsById.get(id);
+    }
+
+    public List<Entry> search(String prefix, int limit) {
+        List<Entry> result = new ArrayList<>();
+        if (prefix == null || prefix.isBlank()) {
+            return result;
+        }
+        String from = prefix.trim().toLowerCase(Locale.ROOT);
+        for (Entry entry : entries.subMap(from, true, from + Character.MAX_VALUE, true).values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    private static String key(String login) {
+        return login.toLowerCase(Locale.ROOT) + '\0' + login;
+    }
+}
@@ -14,23 +14,48 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserLoginIndex userLoginIndex;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
     public User register(String login, String rawPassword) {
         if (userRepository.findByLogin(login).isPresent()) {
             throw new RuntimeException("Пользователь с логином " + login + " уже существует");
         }
         User user = new User();
         user.setLogin(login);
-        user.setPasswordHash(rawPassword);
+        user.setPasswordHash(passwordHasher.hash(rawPassword));
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userLoginIndex.add(saved.getId(), saved.getLogin());
+        return saved;
     }
 
     public Optional<User> authenticate(String login, String rawPassword) {
-        return userRepository.findByLogin(login)
-            .filter(user -> user.getPasswordHash().equals(rawPassword));
+        Optional<User> user = userRepository.findByLogin(login);
+        if (user.isEmpty()) {
+            passwordHasher.matchesDummy(rawPassword);
+            return user;
+        }
+        user = user.filter(found -> passwordHasher.matches(rawPassword, found.getPasswordHash()));
+
+        // Пароль верный — заодно переводим старую запись на текущий хэш
+        user.filter(found -> passwordHasher.needsRehash(found.getPasswordHash()))
+            .ifPresent(found -> {
+                found.setPasswordHash(passwordHasher.hash(rawPassword));
+                userRepository.save(found);
+            });
+
+        return user;
     }
 
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
+
+    public List<UserLoginIndex.Entry> searchByLoginPrefix(String prefix) {
+        return userLoginIndex.search(prefix, UserLoginIndex.MAX_RESULTS);
+    }
 }
\ No newline at end of file
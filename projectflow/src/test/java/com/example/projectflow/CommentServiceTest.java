@@ -7,6 +7,7 @@ import com.example.projectflow.repository.CommentRepository;
 import com.example.projectflow.repository.ProjectRepository;
 import com.example.projectflow.repository.UserRepository;
 import com.example.projectflow.service.CommentService;
+import com.example.projectflow.service.SearchIndex;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -37,6 +38,9 @@ class CommentServiceTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private SearchIndex searchIndex;
+
     @Test
     void testCreateComment() {
         // Given
@@ -51,6 +55,7 @@ class CommentServiceTest {
         author.setId(authorId);
 
         Comment expectedComment = new Comment();
+        expectedComment.setId(3L);
         expectedComment.setProject(project);
         expectedComment.setAuthor(author);
         expectedComment.setText(text);
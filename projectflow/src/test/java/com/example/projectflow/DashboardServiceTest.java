@@ -0,0 +1,169 @@
+package com.example.projectflow;
+
+import com.example.projectflow.model.TaskStatus;
+import com.example.projectflow.repository.CommentRepository;
+import com.example.projectflow.repository.DashboardProjectRow;
+import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.repository.TaskRepository;
+import com.example.projectflow.service.Dashboard;
+import com.example.projectflow.service.DashboardCache;
+import com.example.projectflow.service.DashboardService;
+import com.example.projectflow.service.ProjectEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {DashboardService.class, DashboardCache.class})
+@ActiveProfiles("test")
+class DashboardServiceTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @MockBean
+    private ProjectMemberRepository projectMemberRepository;
+
+    @MockBean
+    private TaskRepository taskRepository;
+
+    @MockBean
+    private CommentRepository commentRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Сбрасываем кэш между тестами
+        eventPublisher.publishEvent(ProjectEvent.of(1L, "memberAdded", "userId", 7L));
+        eventPublisher.publishEvent(ProjectEvent.of(2L, "memberAdded", "userId", 8L));
+    }
+
+    @Test
+    void testGetDashboard_ThreeQueriesThenCached() {
+        // Given
+        DashboardProjectRow row = projectRow(1L, 2, 1, 3, 2);
+        when(projectMemberRepository.findDashboardProjects(7L, TaskStatus.DONE)).thenReturn(List.of(row));
+        when(taskRepository.findAssignedToUser(eq(7L), any(), any())).thenReturn(List.of());
+        when(commentRepository.findRecentInUserProjects(eq(7L), any())).thenReturn(List.of());
+
+        // When
+        Dashboard first = dashboardService.getDashboard(7L);
+        Dashboard second = dashboardService.getDashboard(7L);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(2, first.getMyOpenTasks());
+        assertEquals(3, first.getProjects().get(0).getOpenTasks());
+        verify(projectMemberRepository, times(1)).findDashboardProjects(7L, TaskStatus.DONE);
+        verify(taskRepository, times(1)).findAssignedToUser(eq(7L), any(), any());
+        verify(commentRepository, times(1)).findRecentInUserProjects(eq(7L), any());
+    }
+
+    @Test
+    void testProjectEventInvalidatesOnlyAffectedUsers() {
+        // Given
+        when(projectMemberRepository.findDashboardProjects(7L, TaskStatus.DONE)).thenReturn(List.of(projectRow(1L, 0, 0, 0, 0)));
+        when(projectMemberRepository.findDashboardProjects(8L, TaskStatus.DONE)).thenReturn(List.of(projectRow(2L, 0, 0, 0, 0)));
+        dashboardService.getDashboard(7L);
+        dashboardService.getDashboard(8L);
+
+        // When
+        eventPublisher.publishEvent(ProjectEvent.of(1L, "taskCreated", "id", 100L));
+        dashboardService.getDashboard(7L);
+        dashboardService.getDashboard(8L);
+
+        // Then
+        verify(projectMemberRepository, times(2)).findDashboardProjects(7L, TaskStatus.DONE);
+        verify(projectMemberRepository, times(1)).findDashboardProjects(8L, TaskStatus.DONE);
+    }
+
+    @Test
+    void testMemberAddedInvalidatesNewMember() {
+        // Given
+        when(projectMemberRepository.findDashboardProjects(8L, TaskStatus.DONE)).thenReturn(List.of());
+        dashboardService.getDashboard(8L);
+
+        // When
+        eventPublisher.publishEvent(ProjectEvent.of(5L, "memberAdded", "userId", 8L, "login", "bob", "role", "MEMBER"));
+        dashboardService.getDashboard(8L);
+
+        // Then
+        verify(projectMemberRepository, times(2)).findDashboardProjects(8L, TaskStatus.DONE);
+        assertEquals(1, dashboardCache.size());
+    }
+
+    @Test
+    void testEventForOtherProjectDuringLoadKeepsResultCached() {
+        // Given
+        when(projectMemberRepository.findDashboardProjects(7L, TaskStatus.DONE)).thenAnswer(invocation -> {
+            eventPublisher.publishEvent(ProjectEvent.of(2L, "taskCreated", "id", 100L));
+            return List.of(projectRow(1L, 0, 0, 0, 0));
+        });
+
+        // When
+        dashboardService.getDashboard(7L);
+        dashboardService.getDashboard(7L);
+
+        // Then
+        verify(projectMemberRepository, times(1)).findDashboardProjects(7L, TaskStatus.DONE);
+    }
+
+    @Test
+    void testEventForLoadedProjectDuringLoadIsNotCached() {
+        // Given
+        when(projectMemberRepository.findDashboardProjects(7L, TaskStatus.DONE)).thenAnswer(invocation -> {
+            eventPublisher.publishEvent(ProjectEvent.of(1L, "taskCreated", "id", 100L));
+            return List.of(projectRow(1L, 0, 0, 0, 0));
+        });
+
+        // When
+        dashboardService.getDashboard(7L);
+        dashboardService.getDashboard(7L);
+
+        // Then
+        verify(projectMemberRepository, times(2)).findDashboardProjects(7L, TaskStatus.DONE);
+    }
+
+    @Test
+    void testImportProgressDoesNotInvalidate() {
+        // Given
+        when(projectMemberRepository.findDashboardProjects(7L, TaskStatus.DONE)).thenReturn(List.of(projectRow(1L, 0, 0, 0, 0)));
+        dashboardService.getDashboard(7L);
+
+        // When
+        eventPublisher.publishEvent(ProjectEvent.of(1L, "importProgress", "imported", 500, "failed", 0));
+        dashboardService.getDashboard(7L);
+        eventPublisher.publishEvent(ProjectEvent.of(1L, "tasksImported", "imported", 1000));
+        dashboardService.getDashboard(7L);
+
+        // Then
+        verify(projectMemberRepository, times(2)).findDashboardProjects(7L, TaskStatus.DONE);
+    }
+
+    private static DashboardProjectRow projectRow(Long projectId, int pending, int inProgress, int done, long mine) {
+        return new DashboardProjectRow() {
+            public Long getProjectId() { return projectId; }
+            public String getName() { return "Проект " + projectId; }
+            public String getRole() { return "MEMBER"; }
+            public int getPendingTasks() { return pending; }
+            public int getInProgressTasks() { return inProgress; }
+            public int getDoneTasks() { return done; }
+            public long getMyOpenTasks() { return mine; }
+        };
+    }
+}
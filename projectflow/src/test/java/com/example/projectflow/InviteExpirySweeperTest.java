@@ -0,0 +1,49 @@
+package com.example.projectflow;
+
+import com.example.projectflow.repository.InviteRepository;
+import com.example.projectflow.service.InviteExpirySweeper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = InviteExpirySweeper.class,
+        properties = {"projectflow.invites.sweep-batch-size=10", "projectflow.invites.sweep-max-batches=5"})
+@ActiveProfiles("test")
+class InviteExpirySweeperTest {
+
+    @Autowired
+    private InviteExpirySweeper inviteExpirySweeper;
+
+    @MockBean
+    private InviteRepository inviteRepository;
+
+    @Test
+    void testSweepStopsOnPartialBatch() {
+        // Given
+        when(inviteRepository.deleteUnusableBatch(any(), eq(10))).thenReturn(10, 10, 3);
+
+        // When
+        inviteExpirySweeper.sweepExpired();
+
+        // Then
+        verify(inviteRepository, times(3)).deleteUnusableBatch(any(), eq(10));
+    }
+
+    @Test
+    void testSweepIsBoundedByMaxBatches() {
+        // Given
+        when(inviteRepository.deleteUnusableBatch(any(), eq(10))).thenReturn(10);
+
+        // When
+        inviteExpirySweeper.sweepExpired();
+
+        // Then
+        verify(inviteRepository, times(5)).deleteUnusableBatch(any(), eq(10));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.projectflow;
+
+import com.example.projectflow.model.Invite;
+import com.example.projectflow.model.Project;
+import com.example.projectflow.repository.InviteRepository;
+import com.example.projectflow.service.InviteService;
+import com.example.projectflow.service.ProjectMemberService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = InviteService.class)
+@ActiveProfiles("test")
+class InviteServiceTest {
+
+    @Autowired
+    private InviteService inviteService;
+
+    @MockBean
+    private InviteRepository inviteRepository;
+
+    @MockBean
+    private ProjectMemberService projectMemberService;
+
+    private Invite invite(String code, int remainingUses) {
+        Project project = new Project();
+        project.setId(1L);
+
+        Invite invite = new Invite();
+        invite.setCode(code);
+        invite.setProject(project);
+        invite.setExpiresAt(LocalDateTime.now().plusHours(1));
+        invite.setMaxUses(10);
+        invite.setRemainingUses(remainingUses);
+        return invite;
+    }
+
+    @Test
+    void testCreateInvite_MultiUse() {
+        // When
+        String code = inviteService.createInvite(1L, 2L, 24, 200);
+
+        // Then
+        ArgumentCaptor<Invite> saved = ArgumentCaptor.forClass(Invite.class);
+        verify(inviteRepository).save(saved.capture());
+        assertEquals(code, saved.getValue().getCode());
+        assertEquals(200, saved.getValue().getMaxUses());
+        assertEquals(200, saved.getValue().getRemainingUses());
+    }
+
+    @Test
+    void testAcceptInvite_RedeemsOneUse() {
+        // Given
+        when(inviteRepository.findByCode("abc")).thenReturn(Optional.of(invite("abc", 5)));
+        when(inviteRepository.redeem(eq("abc"), any())).thenReturn(1);
+        when(projectMemberService.addMember(1L, 3L, "MEMBER")).thenReturn(true);
+
+        // When
+        inviteService.acceptInvite("abc", 3L);
+
+        // Then
+        verify(projectMemberService).addMember(1L, 3L, "MEMBER");
+        verify(inviteRepository).redeem(eq("abc"), any());
+        verify(inviteRepository, never()).deleteByCode(any());
+    }
+
+    @Test
+    void testAcceptInvite_Exhausted() {
+        // Given: проверка прошла, но другой запрос успел списать последнее использование
+        when(inviteRepository.findByCode("abc")).thenReturn(Optional.of(invite("abc", 1)));
+        when(inviteRepository.redeem(eq("abc"), any())).thenReturn(0);
+        when(projectMemberService.addMember(1L, 3L, "MEMBER")).thenReturn(true);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> inviteService.acceptInvite("abc", 3L));
+    }
+
+    @Test
+    void testAcceptInvite_AlreadyMember() {
+        // Given
+        when(inviteRepository.findByCode("abc")).thenReturn(Optional.of(invite("abc", 5)));
+        when(projectMemberService.addMember(1L, 3L, "MEMBER")).thenReturn(false);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> inviteService.acceptInvite("abc", 3L));
+
+        verify(inviteRepository, never()).redeem(any(), any());
+    }
+
+    @Test
+    void testValidateInvite_UsedUp() {
+        // Given
+        when(inviteRepository.findByCode("abc")).thenReturn(Optional.of(invite("abc", 0)));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> inviteService.validateInvite("abc"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.projectflow;
+
+import com.example.projectflow.service.LoginRateLimiter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    @Test
+    void testBlocksAfterCapacity() {
+        // Given
+        LoginRateLimiter limiter = new LoginRateLimiter(3, 1, 1000);
+
+        // When & Then
+        assertTrue(limiter.tryAcquire("alice", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("alice", "10.0.0.2"));
+        assertTrue(limiter.tryAcquire("alice", "10.0.0.3"));
+        assertFalse(limiter.tryAcquire("alice", "10.0.0.4"));
+
+        // Другой логин с нового IP не затронут
+        assertTrue(limiter.tryAcquire("bob", "10.0.0.5"));
+    }
+
+    @Test
+    void testBlocksByIpAcrossLogins() {
+        // Given
+        LoginRateLimiter limiter = new LoginRateLimiter(2, 1, 1000);
+
+        // When & Then
+        assertTrue(limiter.tryAcquire("user1", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("user2", "10.0.0.1"));
+        assertFalse(limiter.tryAcquire("user3", "10.0.0.1"));
+
+        // Отказ по IP не потратил токен логина
+        assertTrue(limiter.tryAcquire("user3", "10.0.0.2"));
+    }
+
+    @Test
+    void testThrottledKeyIsNotEvictedBySprayOfNewKeys() {
+        // Given: 64 полосы по одному ключу
+        LoginRateLimiter limiter = new LoginRateLimiter(1, 1, 64);
+
+        assertTrue(limiter.tryAcquire("key-0"));
+        assertFalse(limiter.tryAcquire("key-0"));
+
+        // When: пытаемся вытеснить key-0 потоком новых ключей
+        for (int i = 1; i < 10_000; i++) {
+            limiter.tryAcquire("key-" + i);
+        }
+
+        // Then: ограничение не сброшено, а новый ключ в заполненную полосу не попадает
+        assertFalse(limiter.tryAcquire("key-0"));
+        assertFalse(limiter.tryAcquire("newcomer"));
+    }
+
+    @Test
+    void testRefilledKeyIsEvictedForNewKey() throws InterruptedException {
+        // Given: 64 полосы по одному ключу, токен восстанавливается за 1 мс
+        LoginRateLimiter limiter = new LoginRateLimiter(1, 60_000, 64);
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("key-" + i);
+        }
+
+        // When
+        Thread.sleep(20);
+
+        // Then
+        assertTrue(limiter.tryAcquire("newcomer"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.projectflow;
+
+import com.example.projectflow.service.ParallelQueries;
+import com.example.projectflow.service.RequestStatements;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelQueriesTest {
+
+    @Test
+    void testForksRunConcurrently() {
+        // Given
+        ParallelQueries queries = new ParallelQueries(true, 4, 5000);
+        long started = System.nanoTime();
+
+        // When
+        int sum;
+        try (ParallelQueries.Scope scope = queries.open()) {
+            Supplier<Integer> a = scope.fork(() -> slow(1, 200));
+            Supplier<Integer> b = scope.fork(() -> slow(2, 200));
+            Supplier<Integer> c = scope.fork(() -> slow(3, 200));
+            scope.join();
+            sum = a.get() + b.get() + c.get();
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Then
+        // Время близко к самому долгому запросу, а не к сумме
+        assertEquals(6, sum);
+        assertTrue(elapsedMillis < 500, "elapsed " + elapsedMillis);
+    }
+
+    @Test
+    void testForkedTaskCountsStatementsOfCallingRequest() {
+        // Given
+        ParallelQueries queries = new ParallelQueries(true, 4, 5000);
+        RequestStatements statements = RequestStatements.begin();
+
+        // When
+        Supplier<RequestStatements> seen;
+        try (ParallelQueries.Scope scope = queries.open()) {
+            seen = scope.fork(RequestStatements::current);
+            scope.join();
+        } finally {
+            RequestStatements.end();
+        }
+
+        // Then
+        assertSame(statements, seen.get());
+        assertNull(RequestStatements.current());
+    }
+
+    @Test
+    void testPerRequestLimitIsSharedWithNestedScope() {
+        // Given
+        ParallelQueries queries = new ParallelQueries(true, 2, 5000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // When
+        try (ParallelQueries.Scope outer = queries.open()) {
+            for (int i = 0; i < 3; i++) {
+                outer.fork(() -> tracked(running, maxRunning));
+            }
+            try (ParallelQueries.Scope inner = queries.open()) {
+                for (int i = 0; i < 3; i++) {
+                    inner.fork(() -> tracked(running, maxRunning));
+                }
+                inner.join();
+            }
+            outer.join();
+        }
+
+        // Then
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    void testFailureCancelsOtherForks() {
+        // Given
+        ParallelQueries queries = new ParallelQueries(true, 4, 5000);
+        long started = System.nanoTime();
+
+        // When & Then
+        try (ParallelQueries.Scope scope = queries.open()) {
+            scope.fork(() -> slow(1, 5000));
+            scope.fork(() -> {
+                throw new RuntimeException("Project not found");
+            });
+            // Ошибка второй задачи отменяет первую, не дожидаясь её
+            RuntimeException error = assertThrows(RuntimeException.class, scope::join);
+            assertEquals("Project not found", error.getMessage());
+        }
+        assertTrue((System.nanoTime() - started) / 1_000_000 < 5000);
+    }
+
+    @Test
+    void testDisabledRunsInCallerThread() {
+        // Given
+        ParallelQueries queries = new ParallelQueries(false, 4, 5000);
+        Thread caller = Thread.currentThread();
+
+        // When
+        Supplier<Thread> thread;
+        try (ParallelQueries.Scope scope = queries.open()) {
+            thread = scope.fork(Thread::currentThread);
+            scope.join();
+        }
+
+        // Then
+        assertSame(caller, thread.get());
+    }
+
+    private static int slow(int value, long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return value;
+    }
+
+    private static int tracked(AtomicInteger running, AtomicInteger maxRunning) throws InterruptedException {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        Thread.sleep(50);
+        running.decrementAndGet();
+        return 0;
+    }
+}
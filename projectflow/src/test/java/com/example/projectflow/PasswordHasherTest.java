@@ -0,0 +1,65 @@
+package com.example.projectflow;
+
+import com.example.projectflow.service.HashingRejectedException;
+import com.example.projectflow.service.PasswordHasher;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws Exception {
+        // Given: один поток, очередь на одну задачу, дорогой хэш
+        PasswordHasher hasher = new PasswordHasher(14, 1, 1, 60_000);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(() -> hasher.hash("123456")));
+            }
+
+            // Then
+            int rejected = 0;
+            for (Future<String> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    assertInstanceOf(HashingRejectedException.class, e.getCause());
+                    rejected++;
+                }
+            }
+            assertTrue(rejected >= 2);
+        } finally {
+            callers.shutdownNow();
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void testNeedsRehash() {
+        PasswordHasher weak = new PasswordHasher(4, 1, 4, 5_000);
+        PasswordHasher strong = new PasswordHasher(5, 1, 4, 5_000);
+
+        try {
+            String weakHash = weak.hash("123456");
+
+            assertTrue(strong.needsRehash("123456"));
+            assertTrue(strong.needsRehash(weakHash));
+            assertFalse(weak.needsRehash(weakHash));
+            assertTrue(strong.matches("123456", weakHash));
+        } finally {
+            weak.shutdown();
+            strong.shutdown();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.projectflow;
+
+import com.example.projectflow.controller.StatementMetricsFilter;
+import com.example.projectflow.model.Project;
+import com.example.projectflow.model.User;
+import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.service.CommentService;
+import com.example.projectflow.service.ProjectDetailService;
+import com.example.projectflow.service.ProjectMemberService;
+import com.example.projectflow.service.ProjectService;
+import com.example.projectflow.service.RequestStatements;
+import com.example.projectflow.service.StatementBudget;
+import com.example.projectflow.service.StatementBudgetExceededException;
+import com.example.projectflow.service.TaskService;
+import com.example.projectflow.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Полный контекст на H2: число SQL-операторов на страницу не должно расти с объёмом данных (N+1)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProjectControllerTest {
+
+    private static final AtomicInteger LOGIN_NUMBER = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementBudget statementBudget;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectMemberService projectMemberService;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ProjectDetailService projectDetailService;
+
+    private User owner;
+    private Project project;
+    private Long ownerMemberId;
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.register("owner" + LOGIN_NUMBER.incrementAndGet(), "password");
+        User member = userService.register("member" + LOGIN_NUMBER.incrementAndGet(), "password");
+        project = projectService.createProject("Проект", "Описание", owner.getId());
+        projectMemberService.addMember(project.getId(), owner.getId(), "OWNER");
+        projectMemberService.addMember(project.getId(), member.getId(), "MEMBER");
+        ownerMemberId = projectMemberRepository.findByProjectIdAndUserId(project.getId(), owner.getId())
+                .orElseThrow().getId();
+        session = new MockHttpSession();
+        session.setAttribute("userId", owner.getId());
+    }
+
+    @Test
+    void testProjectPageStatementsDoNotGrowWithTasksAndComments() throws Exception {
+        // Given
+        addTasksAndComments(2);
+        long before = statements(get("/projects/" + project.getId()).session(session));
+
+        // When
+        addTasksAndComments(30);
+        long after = statements(get("/projects/" + project.getId()).session(session));
+
+        // Then
+        assertEquals(before, after);
+        assertTrue(after <= statementBudget.budgetFor("/projects/{id}"), "statements " + after);
+    }
+
+    @Test
+    void testProjectActionsStayWithinBudget() throws Exception {
+        // Given
+        addTasksAndComments(10);
+        int budget = statementBudget.budgetFor("/projects/{id}");
+
+        // When
+        long createTask = statements(post("/projects/" + project.getId()).session(session)
+                .param("action", "createTask")
+                .param("taskName", "Новая задача")
+                .param("assignedMemberId", ownerMemberId.toString()));
+        long createComment = statements(post("/projects/" + project.getId()).session(session)
+                .param("action", "createComment")
+                .param("commentText", "Новый комментарий"));
+
+        // Then
+        assertTrue(createTask <= budget, "createTask " + createTask);
+        assertTrue(createComment <= budget, "createComment " + createComment);
+    }
+
+    @Test
+    void testPersonalPagesStayWithinBudget() throws Exception {
+        // Given
+        addTasksAndComments(10);
+
+        // When
+        long dashboard = statements(get("/dashboard").session(session));
+        long myTasks = statements(get("/my-tasks").session(session));
+
+        // Then
+        assertTrue(dashboard <= statementBudget.budgetFor("/dashboard"), "dashboard " + dashboard);
+        assertTrue(myTasks <= statementBudget.budgetFor("/my-tasks"), "my-tasks " + myTasks);
+    }
+
+    @Test
+    void testParallelQueriesAreCountedForCallingRequest() {
+        // Given
+        addTasksAndComments(5);
+        RequestStatements statements = RequestStatements.begin();
+
+        // When
+        try {
+            projectDetailService.loadProjectDetail(project.getId(), owner.getId());
+        } finally {
+            RequestStatements.end();
+        }
+
+        // Then
+        assertTrue(statements.getCount() > 0);
+        assertTrue(statements.getCount() <= statementBudget.budgetFor("/projects/{id}"),
+                "statements " + statements.getCount());
+    }
+
+    @Test
+    void testRequestOverBudgetFails() {
+        // Given
+        Integer budget = statementBudget.getRoutes().put("/projects/{id}", 1);
+
+        // When / Then
+        try {
+            StatementBudgetExceededException e = assertThrows(StatementBudgetExceededException.class,
+                    () -> mockMvc.perform(get("/projects/" + project.getId()).session(session)));
+            assertTrue(e.getMessage().contains("/projects/{id}"));
+        } finally {
+            if (budget != null) {
+                statementBudget.getRoutes().put("/projects/{id}", budget);
+            } else {
+                statementBudget.getRoutes().remove("/projects/{id}");
+            }
+        }
+    }
+
+    @Test
+    void testStreamedExportIsCountedAndChecked() throws Exception {
+        // Given
+        addTasksAndComments(5);
+        Integer budget = statementBudget.getRoutes().put("/projects/{id}/export", 1);
+
+        // When
+        MvcResult started = mockMvc.perform(get("/projects/" + project.getId() + "/export").session(session))
+                .andReturn();
+        started.getAsyncResult();
+
+        // Then
+        try {
+            assertThrows(StatementBudgetExceededException.class, () -> mockMvc.perform(asyncDispatch(started)));
+            Long count = (Long) started.getRequest().getAttribute(StatementMetricsFilter.STATEMENT_COUNT);
+            assertNotNull(count);
+            assertTrue(count > 1, "statements " + count);
+        } finally {
+            if (budget != null) {
+                statementBudget.getRoutes().put("/projects/{id}/export", budget);
+            } else {
+                statementBudget.getRoutes().remove("/projects/{id}/export");
+            }
+        }
+    }
+
+    private void addTasksAndComments(int count) {
+        for (int i = 0; i < count; i++) {
+            taskService.createTask("Задача " + i, project.getId(), ownerMemberId);
+            commentService.createComment(project.getId(), owner.getId(), "Комментарий " + i);
+        }
+    }
+
+    private long statements(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        return (Long) result.getRequest().getAttribute(StatementMetricsFilter.STATEMENT_COUNT);
+    }
+}
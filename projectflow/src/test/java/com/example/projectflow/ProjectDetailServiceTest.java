@@ -0,0 +1,162 @@
+package com.example.projectflow;
+
+import com.example.projectflow.model.Comment;
+import com.example.projectflow.model.Project;
+import com.example.projectflow.model.ProjectMember;
+import com.example.projectflow.model.Task;
+import com.example.projectflow.model.User;
+import com.example.projectflow.repository.CommentRepository;
+import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.repository.ProjectRepository;
+import com.example.projectflow.repository.TaskRepository;
+import com.example.projectflow.service.ProjectDetail;
+import com.example.projectflow.service.ProjectDetailService;
+import com.example.projectflow.service.KeysetPage;
+import com.example.projectflow.service.ParallelQueries;
+import com.example.projectflow.service.ProjectMembershipIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Последовательный режим: одна транзакция, запросы по очереди
+@SpringBootTest(classes = {ProjectDetailService.class, ParallelQueries.class},
+        properties = "projectflow.queries.parallel=false")
+@ActiveProfiles("test")
+class ProjectDetailServiceTest {
+
+    @Autowired
+    private ProjectDetailService projectDetailService;
+
+    @MockBean
+    private ProjectRepository projectRepository;
+
+    @MockBean
+    private ProjectMemberRepository projectMemberRepository;
+
+    @MockBean
+    private TaskRepository taskRepository;
+
+    @MockBean
+    private CommentRepository commentRepository;
+
+    @MockBean
+    private ProjectMembershipIndex projectMembershipIndex;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testLoadProjectDetail_Member() {
+        // Given
+        Long projectId = 1L;
+        Long userId = 2L;
+
+        Project project = new Project();
+        project.setId(projectId);
+
+        User user = new User();
+        user.setId(userId);
+        ProjectMember member = new ProjectMember(project, user, "OWNER");
+
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectMemberRepository.findWithUserByProjectId(projectId)).thenReturn(List.of(member));
+        when(commentRepository.findLatestWithAuthor(eq(projectId), any())).thenReturn(List.of(new Comment()));
+        when(taskRepository.findWithAssigneeByProjectId(projectId)).thenReturn(List.of(new Task(), new Task()));
+
+        // When
+        ProjectDetail detail = projectDetailService.loadProjectDetail(projectId, userId);
+
+        // Then
+        assertTrue(detail.isMember());
+        assertTrue(detail.isOwner());
+        assertEquals(List.of(user), detail.getMembers());
+        assertEquals(2, detail.getTasks().size());
+        assertEquals(1, detail.getComments().size());
+
+        verify(projectMemberRepository, never()).findByProjectIdAndUserId(any(), any());
+        verify(taskRepository, never()).findByProjectId(any());
+    }
+
+    @Test
+    void testLoadProjectDetail_NotMember() {
+        // Given
+        Long projectId = 1L;
+
+        Project project = new Project();
+        project.setId(projectId);
+
+        User other = new User();
+        other.setId(5L);
+
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectMemberRepository.findWithUserByProjectId(projectId)).thenReturn(List.of(new ProjectMember(project, other, "OWNER")));
+        when(commentRepository.findLatestWithAuthor(eq(projectId), any())).thenReturn(List.of());
+
+        // When
+        ProjectDetail detail = projectDetailService.loadProjectDetail(projectId, 2L);
+
+        // Then
+        assertFalse(detail.isMember());
+        assertTrue(detail.getMembers().isEmpty());
+        assertTrue(detail.getTasks().isEmpty());
+
+        verify(taskRepository, never()).findWithAssigneeByProjectId(any());
+    }
+
+    @Test
+    void testLoadProjectDetail_NotFound() {
+        // Given
+        when(projectRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> projectDetailService.loadProjectDetail(1L, 2L));
+
+        verify(commentRepository, never()).findLatestWithAuthor(any(), any());
+    }
+
+    @Test
+    void testLoadProjectDetail_OlderCommentsPage() {
+        // Given
+        Long projectId = 1L;
+        LocalDateTime cursor = LocalDateTime.now();
+
+        Project project = new Project();
+        project.setId(projectId);
+
+        List<Comment> fetched = new ArrayList<>();
+        for (int i = 0; i <= ProjectDetailService.COMMENTS_PAGE_SIZE; i++) {
+            Comment comment = new Comment();
+            comment.setId((long) (500 - i));
+            comment.setCreatedAt(cursor.minusMinutes(i + 1));
+            fetched.add(comment);
+        }
+
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectMemberRepository.findWithUserByProjectId(projectId)).thenReturn(List.of());
+        when(commentRepository.findOlderWithAuthor(eq(projectId), eq(cursor), eq(501L), any())).thenReturn(fetched);
+
+        // When
+        ProjectDetail detail = projectDetailService.loadProjectDetail(projectId, null, cursor, 501L);
+
+        // Then
+        KeysetPage<Comment> page = detail.getCommentsPage();
+        assertEquals(ProjectDetailService.COMMENTS_PAGE_SIZE, page.getItems().size());
+        assertTrue(page.hasNext());
+        assertEquals(fetched.get(ProjectDetailService.COMMENTS_PAGE_SIZE - 1).getId(), page.getNextId());
+
+        verify(commentRepository, never()).findLatestWithAuthor(any(), any());
+    }
+}
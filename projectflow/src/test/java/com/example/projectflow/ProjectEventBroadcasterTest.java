@@ -0,0 +1,157 @@
+package com.example.projectflow;
+
+import com.example.projectflow.service.ProjectEvent;
+import com.example.projectflow.service.ProjectEventBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = {ProjectEventBroadcaster.class, ObjectMapper.class},
+        properties = "projectflow.events.queue-capacity=4")
+@ActiveProfiles("test")
+class ProjectEventBroadcasterTest {
+
+    @Autowired
+    private ProjectEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void testSubscribeRegistersEmitter() {
+        // When
+        SseEmitter first = broadcaster.subscribe(1L, 7L);
+        SseEmitter second = broadcaster.subscribe(2L, 7L);
+
+        // Then
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void testEventWithoutSubscribersIsIgnored() {
+        // When / Then
+        assertDoesNotThrow(() -> broadcaster.onProjectEvent(ProjectEvent.of(5L, "taskDeleted", "id", 1L)));
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void testStalledSubscriberDoesNotDelayOthers() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(2);
+        broadcaster.subscribe(1L, 7L, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        broadcaster.subscribe(1L, 7L, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                delivered.countDown();
+            }
+        });
+
+        // When
+        broadcaster.onProjectEvent(ProjectEvent.of(1L, "taskDeleted", "id", 1L));
+
+        // Then
+        try {
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testSubscriberWithFullQueueIsDropped() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        broadcaster.subscribe(1L, 7L, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        // When
+        try {
+            for (long id = 0; id < 10; id++) {
+                broadcaster.onProjectEvent(ProjectEvent.of(1L, "taskDeleted", "id", id));
+            }
+
+            // Then
+            assertEquals(0, broadcaster.getSubscriberCount());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testRemovedMemberStreamIsCompleted() throws Exception {
+        // Given
+        CountDownLatch removedCompleted = new CountDownLatch(1);
+        CountDownLatch otherCompleted = new CountDownLatch(1);
+        broadcaster.subscribe(1L, 7L, completionTracking(removedCompleted));
+        broadcaster.subscribe(1L, 8L, completionTracking(otherCompleted));
+
+        // When
+        broadcaster.onProjectEvent(ProjectEvent.of(1L, "memberRemoved", "userId", 7L));
+        broadcaster.onProjectEvent(ProjectEvent.of(1L, "taskDeleted", "id", 1L));
+
+        // Then
+        assertTrue(removedCompleted.await(5, TimeUnit.SECONDS));
+        assertFalse(otherCompleted.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void testDeletedProjectStreamsAreCompleted() throws Exception {
+        // Given
+        CountDownLatch completed = new CountDownLatch(2);
+        broadcaster.subscribe(1L, 7L, completionTracking(completed));
+        broadcaster.subscribe(1L, 8L, completionTracking(completed));
+
+        // When
+        broadcaster.onProjectEvent(ProjectEvent.of(1L, "projectDeleted"));
+
+        // Then
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    private static SseEmitter completionTracking(CountDownLatch completed) {
+        return new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+            }
+
+            @Override
+            public synchronized void complete() {
+                completed.countDown();
+            }
+        };
+    }
+}
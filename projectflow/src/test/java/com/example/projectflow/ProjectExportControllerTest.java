@@ -0,0 +1,82 @@
+package com.example.projectflow;
+
+import com.example.projectflow.model.Project;
+import com.example.projectflow.model.User;
+import com.example.projectflow.service.ProjectExportService;
+import com.example.projectflow.service.ProjectMemberService;
+import com.example.projectflow.service.ProjectService;
+import com.example.projectflow.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+// Настоящий Tomcat: общий таймаут асинхронных запросов короче, чем пишется выгрузка
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.mvc.async.request-timeout=300", "management.server.port=0"})
+@ActiveProfiles("test")
+class ProjectExportControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectMemberService projectMemberService;
+
+    @MockBean
+    private ProjectExportService projectExportService;
+
+    @Test
+    void testSlowExportIsNotCutOffByAsyncTimeout() throws Exception {
+        // Given
+        User owner = userService.register("exporter", "password");
+        Project project = projectService.createProject("Большой проект", "Описание", owner.getId());
+        projectMemberService.addMember(project.getId(), owner.getId(), "OWNER");
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"tasks\":[".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            Thread.sleep(1500);
+            out.write("]}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(projectExportService).writeJson(eq(project.getId()), any());
+
+        HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+        client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("login=exporter&password="
+                        + URLEncoder.encode("password", StandardCharsets.UTF_8)))
+                .build(), HttpResponse.BodyHandlers.discarding());
+
+        // When
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/projects/" + project.getId() + "/export")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"tasks\":[]}", response.body());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.projectflow;
+
+import com.example.projectflow.model.Project;
+import com.example.projectflow.model.TaskStatus;
+import com.example.projectflow.repository.CommentExportRow;
+import com.example.projectflow.repository.CommentRepository;
+import com.example.projectflow.repository.MemberExportRow;
+import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.repository.ProjectRepository;
+import com.example.projectflow.repository.TaskExportRow;
+import com.example.projectflow.repository.TaskRepository;
+import com.example.projectflow.service.ProjectExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {ProjectExportService.class, ObjectMapper.class})
+@ActiveProfiles("test")
+class ProjectExportServiceTest {
+
+    @Autowired
+    private ProjectExportService projectExportService;
+
+    @MockBean
+    private ProjectRepository projectRepository;
+
+    @MockBean
+    private ProjectMemberRepository projectMemberRepository;
+
+    @MockBean
+    private TaskRepository taskRepository;
+
+    @MockBean
+    private CommentRepository commentRepository;
+
+    @Test
+    void testWriteJson_ContainsAllSectionsAndClosesStreams() throws Exception {
+        // Given
+        Project project = new Project();
+        project.setId(1L);
+        project.setName("Архив");
+        project.setOwnerId(5L);
+
+        AtomicBoolean tasksClosed = new AtomicBoolean();
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(projectMemberRepository.streamForExport(1L)).thenReturn(Stream.of(member(5L, "owner", "OWNER")));
+        when(taskRepository.streamForExport(1L)).thenReturn(Stream.of(task(10L, "Задача", "owner"), task(11L, "Вторая", "owner"))
+                .onClose(() -> tasksClosed.set(true)));
+        when(commentRepository.streamForExport(1L)).thenReturn(Stream.of(comment(20L, "owner", "Привет")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        projectExportService.writeJson(1L, out);
+
+        // Then
+        JsonNode root = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals("Архив", root.get("project").get("name").asText());
+        assertEquals(1, root.get("members").size());
+        assertEquals(2, root.get("tasks").size());
+        assertEquals("DONE", root.get("tasks").get(0).get("status").asText());
+        assertEquals("Привет", root.get("comments").get(0).get("text").asText());
+        assertTrue(tasksClosed.get());
+    }
+
+    @Test
+    void testWriteCsv_TasksUseImportColumns() throws Exception {
+        // Given
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.streamForExport(1L)).thenReturn(Stream.of(task(10L, "Задача, с запятой", "bob")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        projectExportService.writeCsv(1L, ProjectExportService.Part.TASKS, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,name,assignee,status,created_at", lines[0]);
+        assertTrue(lines[1].startsWith("10,\"Задача, с запятой\",bob,DONE,"));
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void testWriteJson_ProjectNotFound() {
+        // Given
+        when(projectRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> projectExportService.writeJson(2L, new ByteArrayOutputStream()));
+        verifyNoInteractions(taskRepository);
+    }
+
+    private static TaskExportRow task(Long id, String name, String assignee) {
+        return new TaskExportRow() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getAssignee() { return assignee; }
+            public TaskStatus getStatus() { return TaskStatus.DONE; }
+            public LocalDateTime getCreatedAt() { return LocalDateTime.of(2024, 1, 1, 12, 0); }
+        };
+    }
+
+    private static MemberExportRow member(Long userId, String login, String role) {
+        return new MemberExportRow() {
+            public Long getUserId() { return userId; }
+            public String getLogin() { return login; }
+            public String getRole() { return role; }
+        };
+    }
+
+    private static CommentExportRow comment(Long id, String author, String text) {
+        return new CommentExportRow() {
+            public Long getId() { return id; }
+            public String getAuthor() { return author; }
+            public String getText() { return text; }
+            public LocalDateTime getCreatedAt() { return LocalDateTime.of(2024, 1, 2, 9, 30); }
+        };
+    }
+}
@@ -1,16 +1,17 @@
 package com.example.projectflow;
 
-import com.example.projectflow.model.Project;
 import com.example.projectflow.model.ProjectMember;
-import com.example.projectflow.model.User;
 import com.example.projectflow.repository.ProjectMemberRepository;
 import com.example.projectflow.repository.ProjectRepository;
 import com.example.projectflow.repository.UserRepository;
 import com.example.projectflow.service.ProjectMemberService;
+import com.example.projectflow.service.ProjectMembershipIndex;
+import com.example.projectflow.service.UserLoginIndex;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Optional;
@@ -19,13 +20,16 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest(classes = ProjectMemberService.class)
+@SpringBootTest(classes = {ProjectMemberService.class, ProjectMembershipIndex.class, UserLoginIndex.class})
 @ActiveProfiles("test")
 class ProjectMemberServiceTest {
 
     @Autowired
     private ProjectMemberService projectMemberService;
 
+    @Autowired
+    private ProjectMembershipIndex projectMembershipIndex;
+
     @MockBean
     private ProjectMemberRepository projectMemberRepository;
 
@@ -42,25 +46,19 @@ class ProjectMemberServiceTest {
         Long userId = 2L;
         String role = "MEMBER";
 
-        Project project = new Project();
-        project.setId(projectId);
-
-        User user = new User();
-        user.setId(userId);
-
-        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(projectMemberRepository.existsByProjectIdAndUserId(projectId, userId)).thenReturn(false);
-        when(projectMemberRepository.save(any(ProjectMember.class))).thenAnswer(i -> i.getArguments()[0]);
+        when(projectMemberRepository.insertIfAbsent(projectId, userId, role)).thenReturn(1);
 
         // When
-        projectMemberService.addMember(projectId, userId, role);
+        boolean added = projectMemberService.addMember(projectId, userId, role);
 
         // Then
-        verify(projectRepository).findById(projectId);
-        verify(userRepository).findById(userId);
-        verify(projectMemberRepository).existsByProjectIdAndUserId(projectId, userId);
-        verify(projectMemberRepository).save(any(ProjectMember.class));
+        assertTrue(added);
+        verify(projectMemberRepository).insertIfAbsent(projectId, userId, role);
+        verify(projectRepository, never()).findById(any());
+        verify(userRepository, never()).findById(any());
+        verify(projectMemberRepository, never()).existsByProjectIdAndUserId(any(), any());
+        assertTrue(projectMemberService.isMember(projectId, userId));
+        assertFalse(projectMemberService.isOwner(projectId, userId));
     }
 
     @Test
@@ -70,87 +68,97 @@ class ProjectMemberServiceTest {
         Long userId = 2L;
         String role = "MEMBER";
 
-        when(projectMemberRepository.existsByProjectIdAndUserId(projectId, userId)).thenReturn(true);
+        when(projectMemberRepository.insertIfAbsent(projectId, userId, role)).thenReturn(0);
 
-        // When & Then
-        assertThrows(RuntimeException.class, () -> {
-            projectMemberService.addMember(projectId, userId, role);
-        });
+        // When
+        boolean added = projectMemberService.addMember(projectId, userId, role);
 
-        verify(projectRepository, never()).findById(any());
-        verify(userRepository, never()).findById(any());
-        verify(projectMemberRepository).existsByProjectIdAndUserId(projectId, userId);
+        // Then
+        assertFalse(added);
+        verify(projectMemberRepository).insertIfAbsent(projectId, userId, role);
         verify(projectMemberRepository, never()).save(any());
     }
 
+    @Test
+    void testAddMember_ProjectOrUserMissing() {
+        // Given
+        Long projectId = 1L;
+        Long userId = 2L;
+
+        when(projectMemberRepository.insertIfAbsent(projectId, userId, "MEMBER"))
+                .thenThrow(new DataIntegrityViolationException("fk"));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> projectMemberService.addMember(projectId, userId, "MEMBER"));
+        assertFalse(projectMemberService.isMember(projectId, userId));
+    }
+
     @Test
     void testRemoveMember() {
         // Given
         Long projectId = 1L;
         Long userId = 2L;
 
+        projectMembershipIndex.addMember(projectId, userId, false);
+
         // When
         projectMemberService.removeMember(projectId, userId);
 
         // Then
         verify(projectMemberRepository).deleteByProjectIdAndUserId(projectId, userId);
+        assertFalse(projectMemberService.isMember(projectId, userId));
     }
 
     @Test
     void testIsOwner_True() {
         // Given
-        Long projectId = 1L;
-        Long userId = 2L;
-
-        ProjectMember member = new ProjectMember();
-        member.setRole("OWNER");
+        Long projectId = 11L;
+        Long userId = 12L;
 
-        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId)).thenReturn(Optional.of(member));
+        projectMembershipIndex.addMember(projectId, userId, true);
 
         // When
         boolean result = projectMemberService.isOwner(projectId, userId);
 
         // Then
         assertTrue(result);
+        assertTrue(projectMemberService.isMember(projectId, userId));
 
-        verify(projectMemberRepository).findByProjectIdAndUserId(projectId, userId);
+        verify(projectMemberRepository, never()).findByProjectIdAndUserId(any(), any());
     }
 
     @Test
     void testIsOwner_False() {
         // Given
-        Long projectId = 1L;
-        Long userId = 2L;
-
-        ProjectMember member = new ProjectMember();
-        member.setRole("MEMBER");
+        Long projectId = 21L;
+        Long userId = 22L;
 
-        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId)).thenReturn(Optional.of(member));
+        projectMembershipIndex.addMember(projectId, userId, false);
 
         // When
         boolean result = projectMemberService.isOwner(projectId, userId);
 
         // Then
         assertFalse(result);
+        assertTrue(projectMemberService.isMember(projectId, userId));
 
-        verify(projectMemberRepository).findByProjectIdAndUserId(projectId, userId);
+        verify(projectMemberRepository, never()).findByProjectIdAndUserId(any(), any());
     }
 
     @Test
     void testIsOwner_NotFound() {
         // Given
-        Long projectId = 1L;
-        Long userId = 2L;
-
-        when(projectMemberRepository.findByProjectIdAndUserId(projectId, userId)).thenReturn(Optional.empty());
+        Long projectId = 31L;
+        Long userId = 32L;
 
         // When
         boolean result = projectMemberService.isOwner(projectId, userId);
 
         // Then
         assertFalse(result);
+        assertFalse(projectMemberService.isMember(projectId, userId));
 
-        verify(projectMemberRepository).findByProjectIdAndUserId(projectId, userId);
+        verify(projectMemberRepository, never()).findByProjectIdAndUserId(any(), any());
     }
 
     @Test
@@ -0,0 +1,54 @@
+package com.example.projectflow;
+
+import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.service.ProjectMembershipIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ProjectMembershipIndex.class)
+@ActiveProfiles("test")
+class ProjectMembershipIndexTest {
+
+    @Autowired
+    private ProjectMembershipIndex projectMembershipIndex;
+
+    @MockBean
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Test
+    void testLargeIdsAreSupported() {
+        // Given
+        long projectId = 5_000_000_000L;
+        long userId = 3_000_000_000L;
+
+        // When
+        projectMembershipIndex.addMember(projectId, userId, true);
+
+        // Then
+        assertTrue(projectMembershipIndex.isMember(projectId, userId));
+        assertTrue(projectMembershipIndex.isOwner(projectId, userId));
+        assertFalse(projectMembershipIndex.isMember(projectId + 1, userId));
+    }
+
+    @Test
+    void testRemoveProjectClearsAllMembers() {
+        // Given
+        projectMembershipIndex.addMember(10L, 1L, true);
+        projectMembershipIndex.addMember(10L, 2L, false);
+        projectMembershipIndex.addMember(11L, 2L, false);
+
+        // When
+        projectMembershipIndex.removeProject(10L);
+
+        // Then
+        assertFalse(projectMembershipIndex.isOwner(10L, 1L));
+        assertFalse(projectMembershipIndex.isMember(10L, 2L));
+        assertTrue(projectMembershipIndex.isMember(11L, 2L));
+        assertFalse(projectMembershipIndex.isOwner(11L, 2L));
+    }
+}
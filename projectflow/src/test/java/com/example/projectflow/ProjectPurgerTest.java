@@ -0,0 +1,80 @@
+package com.example.projectflow;
+
+import com.example.projectflow.repository.CommentRepository;
+import com.example.projectflow.repository.InviteRepository;
+import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.repository.ProjectRepository;
+import com.example.projectflow.repository.TaskRepository;
+import com.example.projectflow.service.ProjectPurger;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = ProjectPurger.class,
+        properties = {"projectflow.projects.purge-batch-size=10", "projectflow.projects.purge-max-batches=6"})
+@ActiveProfiles("test")
+class ProjectPurgerTest {
+
+    @Autowired
+    private ProjectPurger projectPurger;
+
+    @MockBean
+    private ProjectRepository projectRepository;
+
+    @MockBean
+    private TaskRepository taskRepository;
+
+    @MockBean
+    private CommentRepository commentRepository;
+
+    @MockBean
+    private InviteRepository inviteRepository;
+
+    @MockBean
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Test
+    void testPurgeDeletesChildrenInBatchesThenProject() {
+        // Given
+        when(projectRepository.findDeletedIds(anyInt())).thenReturn(List.of(1L));
+        when(commentRepository.deleteBatchByProjectId(1L, 10)).thenReturn(10, 4);
+        when(taskRepository.deleteBatchByProjectId(1L, 10)).thenReturn(7);
+
+        // When
+        projectPurger.purgeDeleted();
+
+        // Then
+        InOrder order = inOrder(commentRepository, taskRepository, inviteRepository, projectMemberRepository, projectRepository);
+        order.verify(commentRepository, times(2)).deleteBatchByProjectId(1L, 10);
+        order.verify(taskRepository).deleteBatchByProjectId(1L, 10);
+        order.verify(inviteRepository).deleteBatchByProjectId(1L, 10);
+        order.verify(projectMemberRepository).deleteBatchByProjectId(1L, 10);
+        order.verify(projectRepository).deletePurged(1L);
+    }
+
+    @Test
+    void testPurgeStopsWhenBatchLimitReached() {
+        // Given
+        when(projectRepository.findDeletedIds(anyInt())).thenReturn(List.of(1L, 2L));
+        when(taskRepository.deleteBatchByProjectId(eq(1L), anyInt())).thenReturn(10);
+
+        // When
+        projectPurger.purgeDeleted();
+
+        // Then
+        // Один пакет комментариев и пять пакетов задач — лимит исчерпан, проект остаётся помеченным
+        verify(taskRepository, times(5)).deleteBatchByProjectId(1L, 10);
+        verify(projectRepository, never()).deletePurged(any());
+        verify(commentRepository, never()).deleteBatchByProjectId(eq(2L), anyInt());
+    }
+}
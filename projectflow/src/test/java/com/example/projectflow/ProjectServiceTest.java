@@ -3,29 +3,41 @@ package com.example.projectflow;
 import com.example.projectflow.model.Project;
 import com.example.projectflow.repository.ProjectRepository;
 import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.service.KeysetPage;
+import com.example.projectflow.service.ProjectIndexCache;
 import com.example.projectflow.service.ProjectMemberService;
+import com.example.projectflow.service.ProjectMembershipIndex;
 import com.example.projectflow.service.ProjectService;
+import com.example.projectflow.service.SearchIndex;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest(classes = ProjectService.class)
+@SpringBootTest(classes = {ProjectService.class, ProjectIndexCache.class, ProjectMembershipIndex.class})
 @ActiveProfiles("test")
 class ProjectServiceTest {
 
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private ProjectIndexCache projectIndexCache;
+
     @MockBean
     private ProjectRepository projectRepository;
 
@@ -35,6 +47,14 @@ class ProjectServiceTest {
     @MockBean
     private ProjectMemberRepository projectMemberRepository;
 
+    @MockBean
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void clearCache() {
+        projectIndexCache.invalidate();
+    }
+
     @Test
     void testGetAllProjects() {
         // Given
@@ -61,6 +81,82 @@ class ProjectServiceTest {
         verify(projectRepository).findAll();
     }
 
+    @Test
+    void testGetProjectsPage_FirstPageWithNext() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        List<Project> fetched = new ArrayList<>();
+        for (int i = 0; i <= ProjectService.PAGE_SIZE; i++) {
+            Project p = new Project();
+            p.setId((long) (100 - i));
+            p.setCreatedAt(now.minusMinutes(i));
+            fetched.add(p);
+        }
+
+        when(projectRepository.findAllByOrderByCreatedAtDescIdDesc(any())).thenReturn(fetched);
+
+        // When
+        KeysetPage<Project> page = projectService.getProjectsPage(null, null);
+
+        // Then
+        assertEquals(ProjectService.PAGE_SIZE, page.getItems().size());
+        assertTrue(page.hasNext());
+        Project last = fetched.get(ProjectService.PAGE_SIZE - 1);
+        assertEquals(last.getId(), page.getNextId());
+        assertEquals(last.getCreatedAt(), page.getNextCreatedAt());
+
+        verify(projectRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetProjectsPage_LastPage() {
+        // Given
+        LocalDateTime cursor = LocalDateTime.now();
+        Project p1 = new Project();
+        p1.setId(5L);
+        p1.setCreatedAt(cursor.minusDays(1));
+
+        when(projectRepository.findPageAfter(eq(cursor), eq(6L), any())).thenReturn(List.of(p1));
+
+        // When
+        KeysetPage<Project> page = projectService.getProjectsPage(cursor, 6L);
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.hasNext());
+        assertNull(page.getNextId());
+
+        verify(projectRepository).findPageAfter(eq(cursor), eq(6L), any());
+    }
+
+    @Test
+    void testGetProjectsPage_ServedFromCacheUntilWrite() {
+        // Given
+        Project p1 = new Project();
+        p1.setId(1L);
+
+        when(projectRepository.findAllByOrderByCreatedAtDescIdDesc(any())).thenReturn(List.of(p1));
+        when(projectRepository.save(any(Project.class))).thenAnswer(i -> {
+            Project saved = i.getArgument(0);
+            saved.setId(2L);
+            return saved;
+        });
+        long hitsBefore = projectIndexCache.getHits();
+        long missesBefore = projectIndexCache.getMisses();
+
+        // When
+        projectService.getProjectsPage(null, null);
+        projectService.getProjectsPage(null, null);
+        projectService.createProject("New", "Desc", 1L);
+        projectService.getProjectsPage(null, null);
+
+        // Then
+        assertEquals(1, projectIndexCache.getHits() - hitsBefore);
+        assertEquals(2, projectIndexCache.getMisses() - missesBefore);
+
+        verify(projectRepository, times(2)).findAllByOrderByCreatedAtDescIdDesc(any());
+    }
+
     @Test
     void testGetProjectsByOwnerId() {
         // Given
@@ -215,13 +311,29 @@ class ProjectServiceTest {
     void testDeleteProject() {
         // Given
         Long projectId = 1L;
+        when(projectRepository.markDeleted(projectId)).thenReturn(1);
+
+        // When
+        projectService.deleteProject(projectId);
+
+        // Then
+        // Проект только помечается, строки удаляет ProjectPurger
+        verify(projectRepository).markDeleted(projectId);
+        verify(projectRepository, never()).deleteById(any());
+        verify(searchIndex).removeProject(projectId);
+    }
+
+    @Test
+    void testDeleteProject_AlreadyDeleted() {
+        // Given
+        Long projectId = 1L;
+        when(projectRepository.markDeleted(projectId)).thenReturn(0);
 
         // When
         projectService.deleteProject(projectId);
 
         // Then
-        verify(projectMemberRepository).deleteByProjectId(projectId);
-        verify(projectRepository).deleteById(projectId);
+        verify(searchIndex, never()).removeProject(anyLong());
     }
 
     @Test
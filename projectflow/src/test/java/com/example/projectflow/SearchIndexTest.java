@@ -0,0 +1,164 @@
+package com.example.projectflow;
+
+import com.example.projectflow.service.SearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest(classes = SearchIndex.class)
+@ActiveProfiles("test")
+class SearchIndexTest {
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @MockBean
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void testSearch_RequiresEveryWordAndRanksByRelevance() {
+        // Given
+        searchIndex.indexProject(1L, "Мобильное приложение", "Клиент для iOS и Android");
+        searchIndex.indexTask(10L, 1L, "Сборка приложения под Android");
+        searchIndex.indexTask(11L, 1L, "Сборка сервера");
+        searchIndex.indexComment(20L, 1L, "Android Android Android: сборка упала");
+
+        // When
+        SearchIndex.Result result = searchIndex.search("сборка android", projectId -> true, 0, 10);
+
+        // Then
+        assertEquals(2, result.total());
+        assertEquals(SearchIndex.Type.COMMENT, result.hits().get(0).type());
+        assertEquals(10L, result.hits().get(1).id());
+    }
+
+    @Test
+    void testSearch_MatchesWordPrefixes() {
+        // Given
+        searchIndex.indexTask(10L, 1L, "Исправить задачи импорта");
+
+        // When
+        SearchIndex.Result result = searchIndex.search("задач импорт", projectId -> true, 0, 10);
+
+        // Then
+        assertEquals(1, result.total());
+    }
+
+    @Test
+    void testSearch_HidesTasksOfForeignProjects() {
+        // Given
+        searchIndex.indexTask(10L, 1L, "Секретная задача");
+        searchIndex.indexTask(11L, 2L, "Открытая задача");
+        searchIndex.indexComment(20L, 1L, "Комментарий про задача");
+
+        // When
+        SearchIndex.Result result = searchIndex.search("задача", projectId -> projectId == 2L, 0, 10);
+
+        // Then
+        List<Long> ids = result.hits().stream().map(SearchIndex.Hit::id).toList();
+        assertEquals(2, result.total());
+        assertTrue(ids.contains(11L));
+        assertTrue(ids.contains(20L));
+        assertFalse(ids.contains(10L));
+    }
+
+    @Test
+    void testReindexAndRemove() {
+        // Given
+        searchIndex.indexTask(10L, 1L, "Старое название");
+        searchIndex.indexTask(10L, 1L, "Новое название");
+        searchIndex.indexProject(2L, "Другой проект", null);
+        searchIndex.indexComment(30L, 2L, "Название проекта");
+
+        // When
+        SearchIndex.Result before = searchIndex.search("старое", projectId -> true, 0, 10);
+        searchIndex.remove(SearchIndex.Type.TASK, 10L);
+        searchIndex.removeProject(2L);
+
+        // Then
+        assertEquals(0, before.total());
+        assertEquals(0, searchIndex.search("название", projectId -> true, 0, 10).total());
+        assertEquals(0, searchIndex.getDocumentCount());
+    }
+
+    @Test
+    void testSearch_Pagination() {
+        // Given
+        for (long id = 1; id <= 25; id++) {
+            searchIndex.indexTask(id, 1L, "Задача номер " + id);
+        }
+
+        // When
+        SearchIndex.Result first = searchIndex.search("задача", projectId -> true, 0, 20);
+        SearchIndex.Result second = searchIndex.search("задача", projectId -> true, 20, 20);
+
+        // Then
+        assertEquals(25, first.total());
+        assertEquals(20, first.hits().size());
+        assertEquals(5, second.hits().size());
+        assertTrue(first.hits().stream().noneMatch(hit -> second.hits().stream().anyMatch(other -> other.id() == hit.id())));
+    }
+
+    @Test
+    void testCompactionReusesDocumentNumbers() {
+        // Given
+        for (long id = 1; id <= 2000; id++) {
+            searchIndex.indexTask(id, id % 10, "Задача " + id);
+        }
+
+        // When
+        for (int round = 1; round <= 5; round++) {
+            for (long id = 1; id <= 2000; id++) {
+                searchIndex.indexTask(id, id % 10, "Версия" + round + " задачи " + id);
+            }
+        }
+        searchIndex.removeProject(3L);
+
+        // Then
+        assertEquals(1800, searchIndex.getDocumentCount());
+        assertTrue(searchIndex.getDocumentSlotCount() < 2000 + 1100, "slots " + searchIndex.getDocumentSlotCount());
+        assertEquals(1800, searchIndex.search("версия5", projectId -> true, 0, 10).total());
+        assertEquals(0, searchIndex.search("версия4", projectId -> true, 0, 10).total());
+    }
+
+    @Test
+    void testChangesDuringRebuildAreKept() {
+        // Given
+        doAnswer(invocation -> {
+            searchIndex.indexTask(10L, 1L, "Задача во время перестроения");
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        // When
+        try {
+            searchIndex.rebuild();
+        } finally {
+            reset(jdbcTemplate);
+        }
+
+        // Then
+        assertEquals(1, searchIndex.search("перестроения", projectId -> true, 0, 10).total());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.projectflow;
+
+import com.example.projectflow.repository.ProjectRepository;
+import com.example.projectflow.service.ProjectIndexCache;
+import com.example.projectflow.service.TaskCounterRebuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = TaskCounterRebuilder.class,
+        properties = "projectflow.projects.rebuild-task-counters-batch-size=2")
+@ActiveProfiles("test")
+class TaskCounterRebuilderTest {
+
+    @Autowired
+    private TaskCounterRebuilder taskCounterRebuilder;
+
+    @MockBean
+    private ProjectRepository projectRepository;
+
+    @MockBean
+    private ProjectIndexCache projectIndexCache;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testRebuildAllGoesThroughProjectsInLockedBatches() {
+        // Given
+        when(projectRepository.findIdsAfter(0L, 2)).thenReturn(List.of(1L, 2L));
+        when(projectRepository.findIdsAfter(2L, 2)).thenReturn(List.of(3L));
+        when(projectRepository.findIdsAfter(3L, 2)).thenReturn(List.of());
+        when(projectRepository.rebuildTaskCounters(anyCollection())).thenAnswer(i -> i.<List<Long>>getArgument(0).size());
+
+        // When
+        int result = taskCounterRebuilder.rebuildAll();
+
+        // Then
+        assertEquals(3, result);
+        verify(projectRepository).lockForRecount(List.of(1L, 2L));
+        verify(projectRepository).lockForRecount(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+        verify(projectIndexCache).invalidate();
+    }
+
+    @Test
+    void testNotRunOnStartupWhenCountersAreFilled() {
+        // Given
+        when(projectRepository.findIdsWithUncountedTasks(1)).thenReturn(List.of());
+
+        // When
+        taskCounterRebuilder.rebuildOnStartup();
+
+        // Then
+        verify(projectRepository, never()).findIdsAfter(anyLong(), anyInt());
+        verify(projectRepository, never()).rebuildTaskCounters(anyCollection());
+    }
+
+    @Test
+    void testRunsOnStartupWhenNewCountersAreStillZero() {
+        // Given
+        when(projectRepository.findIdsWithUncountedTasks(1)).thenReturn(List.of(7L));
+        when(projectRepository.findIdsAfter(0L, 2)).thenReturn(List.of(7L));
+        when(projectRepository.findIdsAfter(7L, 2)).thenReturn(List.of());
+        when(projectRepository.rebuildTaskCounters(anyCollection())).thenReturn(1);
+
+        // When
+        taskCounterRebuilder.rebuildOnStartup();
+
+        // Then
+        verify(projectRepository).lockForRecount(List.of(7L));
+        verify(projectRepository).rebuildTaskCounters(List.of(7L));
+        verify(projectIndexCache).invalidate();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.projectflow;
+
+import com.example.projectflow.repository.MemberLogin;
+import com.example.projectflow.repository.ProjectMemberRepository;
+import com.example.projectflow.repository.ProjectRepository;
+import com.example.projectflow.service.TaskImportReport;
+import com.example.projectflow.service.TaskImportService;
+import com.example.projectflow.service.ProjectIndexCache;
+import com.example.projectflow.service.SearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {TaskImportService.class, ObjectMapper.class},
+        properties = "projectflow.import.batch-size=2")
+@ActiveProfiles("test")
+class TaskImportServiceTest {
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @MockBean
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ProjectRepository projectRepository;
+
+    @MockBean
+    private ProjectMemberRepository projectMemberRepository;
+
+    @MockBean
+    private SearchIndex searchIndex;
+
+    @MockBean
+    private ProjectIndexCache projectIndexCache;
+
+    @BeforeEach
+    void setUp() {
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectMemberRepository.findMemberLoginsByProjectId(1L)).thenReturn(List.of(member(10L, "alice"), member(11L, "bob")));
+    }
+
+    @Test
+    void testImportCsv_InsertsInBatchesAndReportsRowErrors() throws Exception {
+        // Given
+        String csv = "assignee,name,status\n" +
+                "alice,Первая,\n" +
+                "bob,Вторая,DONE\n" +
+                "carol,Чужая,\n" +
+                "alice,,\n" +
+                "bob,Третья,В работе\n";
+
+        // When
+        TaskImportReport report = taskImportService.importTasks(1L, stream(csv), TaskImportService.Format.CSV);
+
+        // Then
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertFalse(report.isAborted());
+        assertEquals(3, report.getErrors().get(0).row());
+        assertEquals(4, report.getErrors().get(1).row());
+
+        // Пакеты по 2 строки: полный и остаток
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        verify(projectMemberRepository, times(1)).findMemberLoginsByProjectId(1L);
+        // Счётчики сдвигаются по статусам каждого пакета
+        verify(projectRepository).adjustTaskCounters(1L, 1, 0, 1);
+        verify(projectRepository).adjustTaskCounters(1L, 0, 1, 0);
+    }
+
+    @Test
+    void testImportJson_ReadsArrayOfObjects() throws Exception {
+        // Given
+        String json = "[{\"name\": \"A\", \"assignee\": \"alice\"}, {\"name\": \"B\", \"assignee\": \"bob\", \"status\": \"SOMEDAY\"}]";
+
+        // When
+        TaskImportReport report = taskImportService.importTasks(1L, stream(json), TaskImportService.Format.JSON);
+
+        // Then
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testImportJson_MalformedFileKeepsWrittenBatches() throws Exception {
+        // Given
+        String json = "[{\"name\": \"A\", \"assignee\": \"alice\"}, {\"name\": \"B\", \"assignee\": \"bob\"}, {\"name\": ";
+
+        // When
+        TaskImportReport report = taskImportService.importTasks(1L, stream(json), TaskImportService.Format.JSON);
+
+        // Then
+        assertTrue(report.isAborted());
+        assertEquals(2, report.getImported());
+    }
+
+    @Test
+    void testImport_ProjectNotFound() {
+        // Given
+        when(projectRepository.existsById(2L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> taskImportService.importTasks(2L, stream(""), TaskImportService.Format.CSV));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MemberLogin member(Long memberId, String login) {
+        return new MemberLogin() {
+            @Override
+            public Long getMemberId() {
+                return memberId;
+            }
+
+            @Override
+            public String getLogin() {
+                return login;
+            }
+        };
+    }
+}
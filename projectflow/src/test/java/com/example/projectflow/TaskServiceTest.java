@@ -4,22 +4,31 @@ import com.example.projectflow.model.Project;
 import com.example.projectflow.model.ProjectMember;
 import com.example.projectflow.model.Task;
 import com.example.projectflow.model.TaskStatus;
+import com.example.projectflow.model.User;
+import com.example.projectflow.repository.AssignedTaskRow;
 import com.example.projectflow.repository.ProjectMemberRepository;
 import com.example.projectflow.repository.ProjectRepository;
 import com.example.projectflow.repository.TaskRepository;
 import com.example.projectflow.service.TaskService;
+import com.example.projectflow.service.KeysetPage;
+import com.example.projectflow.service.ProjectIndexCache;
+import com.example.projectflow.service.SearchIndex;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest(classes = TaskService.class)
@@ -38,6 +47,12 @@ class TaskServiceTest {
     @MockBean
     private ProjectMemberRepository projectMemberRepository;
 
+    @MockBean
+    private SearchIndex searchIndex;
+
+    @MockBean
+    private ProjectIndexCache projectIndexCache;
+
     @Test
     void testCreateTask_Success() {
         // Given
@@ -48,12 +63,21 @@ class TaskServiceTest {
         Project project = new Project();
         project.setId(projectId);
 
+        User assignee = new User();
+        assignee.setId(5L);
+        assignee.setLogin("assignee");
+
         ProjectMember member = new ProjectMember();
         member.setId(assignedMemberId);
+        member.setUser(assignee);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
         when(projectMemberRepository.findById(assignedMemberId)).thenReturn(Optional.of(member));
-        when(taskRepository.save(any(Task.class))).thenAnswer(i -> i.getArguments()[0]);
+        when(taskRepository.save(any(Task.class))).thenAnswer(i -> {
+            Task saved = i.getArgument(0);
+            saved.setId(10L);
+            return saved;
+        });
 
         // When
         Task result = taskService.createTask(name, projectId, assignedMemberId);
@@ -68,6 +92,10 @@ class TaskServiceTest {
         verify(projectRepository).findById(projectId);
         verify(projectMemberRepository).findById(assignedMemberId);
         verify(taskRepository).save(any(Task.class));
+        verify(projectRepository).adjustTaskCounters(projectId, 1, 0, 0);
+        // Главная сбрасывается только там, где есть этот проект
+        verify(projectIndexCache).evictProject(projectId);
+        verify(projectIndexCache, never()).invalidate();
     }
 
     @Test
@@ -107,8 +135,11 @@ class TaskServiceTest {
         Task existingTask = new Task();
         existingTask.setId(taskId);
         existingTask.setStatus(TaskStatus.PENDING);
+        Project project = new Project();
+        project.setId(3L);
+        existingTask.setProject(project);
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+        when(taskRepository.findByIdForUpdate(taskId)).thenReturn(Optional.of(existingTask));
         when(taskRepository.save(any(Task.class))).thenAnswer(i -> i.getArguments()[0]);
 
         // When
@@ -117,8 +148,10 @@ class TaskServiceTest {
         // Then
         assertEquals(newStatus, result.getStatus());
 
-        verify(taskRepository).findById(taskId);
+        verify(taskRepository).findByIdForUpdate(taskId);
         verify(taskRepository).save(any(Task.class));
+        verify(projectRepository).adjustTaskCounters(3L, -1, 0, 0);
+        verify(projectRepository).adjustTaskCounters(3L, 0, 1, 0);
     }
 
     @Test
@@ -127,15 +160,16 @@ class TaskServiceTest {
         Long taskId = 1L;
         TaskStatus newStatus = TaskStatus.IN_PROGRESS;
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.findByIdForUpdate(taskId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> {
             taskService.updateTaskStatus(taskId, newStatus);
         });
 
-        verify(taskRepository).findById(taskId);
+        verify(taskRepository).findByIdForUpdate(taskId);
         verify(taskRepository, never()).save(any());
+        verify(projectRepository, never()).adjustTaskCounters(any(), anyInt(), anyInt(), anyInt());
     }
 
 
@@ -143,12 +177,37 @@ class TaskServiceTest {
     void testDeleteTask() {
         // Given
         Long taskId = 1L;
+        Project project = new Project();
+        project.setId(1L);
+        Task task = new Task();
+        task.setId(taskId);
+        task.setProject(project);
+        task.setStatus(TaskStatus.DONE);
+
+        when(taskRepository.findByIdForUpdate(taskId)).thenReturn(Optional.of(task));
 
         // When
-        taskService.deleteTask(taskId);
+        taskService.deleteTask(1L, taskId);
 
         // Then
-        verify(taskRepository).deleteById(taskId);
+        verify(taskRepository).delete(task);
+        verify(projectRepository).adjustTaskCounters(1L, 0, 0, -1);
+    }
+
+    @Test
+    void testDeleteTask_FromAnotherProject() {
+        // Given
+        Project project = new Project();
+        project.setId(2L);
+        Task task = new Task();
+        task.setId(1L);
+        task.setProject(project);
+
+        when(taskRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(task));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> taskService.deleteTask(1L, 1L));
+        verify(taskRepository, never()).delete(any());
     }
 
     @Test
@@ -185,4 +244,115 @@ class TaskServiceTest {
 
         verify(taskRepository).findById(taskId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateTaskStatuses_OwnerUpdatesInOneStatement() {
+        // Given
+        Long projectId = 1L;
+        List<Long> taskIds = Arrays.asList(10L, 11L, 12L, 11L);
+
+        when(taskRepository.findIdsToChangeStatus(eq(projectId), any(), eq(TaskStatus.DONE)))
+                .thenReturn(Arrays.asList(10L, 12L));
+        when(taskRepository.updateStatusFrom(Arrays.asList(10L, 12L), TaskStatus.PENDING, TaskStatus.DONE)).thenReturn(1);
+        when(taskRepository.updateStatusFrom(Arrays.asList(10L, 12L), TaskStatus.IN_PROGRESS, TaskStatus.DONE)).thenReturn(1);
+
+        // When
+        List<Long> result = taskService.updateTaskStatuses(projectId, taskIds, TaskStatus.DONE, null);
+
+        // Then
+        assertEquals(Arrays.asList(10L, 12L), result);
+        verify(taskRepository).findIdsToChangeStatus(projectId, Arrays.asList(10L, 11L, 12L), TaskStatus.DONE);
+        verify(taskRepository, times(2)).updateStatusFrom(eq(Arrays.asList(10L, 12L)), any(), eq(TaskStatus.DONE));
+        verify(projectRepository).adjustTaskCounters(projectId, -1, -1, 2);
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void testUpdateTaskStatuses_MemberLimitedToOwnTasks() {
+        // Given
+        Long projectId = 1L;
+        Long userId = 7L;
+
+        when(taskRepository.findAssignedIdsToChangeStatus(eq(projectId), any(), eq(TaskStatus.IN_PROGRESS), eq(userId)))
+                .thenReturn(List.of());
+
+        // When
+        List<Long> result = taskService.updateTaskStatuses(projectId, List.of(10L, 11L), TaskStatus.IN_PROGRESS, userId);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(taskRepository, never()).findIdsToChangeStatus(any(), any(), any());
+        verify(taskRepository, never()).updateStatusFrom(any(), any(), any());
+        verify(projectRepository, never()).adjustTaskCounters(any(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testUpdateTaskStatuses_SplitsLargeSelectionIntoChunks() {
+        // Given
+        Long projectId = 1L;
+        List<Long> taskIds = new java.util.ArrayList<>();
+        for (long i = 1; i <= TaskService.BULK_CHUNK_SIZE + 1; i++) {
+            taskIds.add(i);
+        }
+
+        when(taskRepository.findIdsToChangeStatus(eq(projectId), any(), eq(TaskStatus.DONE)))
+                .thenAnswer(i -> new java.util.ArrayList<>(i.<java.util.Collection<Long>>getArgument(1)));
+
+        // When
+        List<Long> result = taskService.updateTaskStatuses(projectId, taskIds, TaskStatus.DONE, null);
+
+        // Then
+        assertEquals(taskIds.size(), result.size());
+        // Два блока по два прежних статуса и один сдвиг счётчиков на всю операцию
+        verify(taskRepository, times(4)).updateStatusFrom(any(), any(), eq(TaskStatus.DONE));
+        verify(projectRepository, times(1)).adjustTaskCounters(any(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testGetMyTasksPage_FirstPageWithoutFilterUsesAllStatuses() {
+        // Given
+        List<AssignedTaskRow> rows = new java.util.ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (long i = TaskService.MY_TASKS_PAGE_SIZE + 1; i >= 1; i--) {
+            rows.add(assignedRow(i, now.minusMinutes(TaskService.MY_TASKS_PAGE_SIZE + 1 - i)));
+        }
+        when(taskRepository.findAssignedToUser(eq(7L), eq(EnumSet.allOf(TaskStatus.class)), any())).thenReturn(rows);
+
+        // When
+        KeysetPage<AssignedTaskRow> page = taskService.getMyTasksPage(7L, EnumSet.noneOf(TaskStatus.class), null, null);
+
+        // Then
+        assertEquals(TaskService.MY_TASKS_PAGE_SIZE, page.getItems().size());
+        assertTrue(page.hasNext());
+        assertEquals(2L, page.getNextId());
+        verify(taskRepository, never()).findAssignedToUserAfter(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetMyTasksPage_NextPageUsesCursorAndStatusFilter() {
+        // Given
+        LocalDateTime after = LocalDateTime.now();
+        EnumSet<TaskStatus> statuses = EnumSet.of(TaskStatus.IN_PROGRESS);
+        when(taskRepository.findAssignedToUserAfter(eq(7L), eq(statuses), eq(after), eq(40L), any()))
+                .thenReturn(List.of(assignedRow(39L, after.minusMinutes(1))));
+
+        // When
+        KeysetPage<AssignedTaskRow> page = taskService.getMyTasksPage(7L, statuses, after, 40L);
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.hasNext());
+        verify(taskRepository, never()).findAssignedToUser(any(), any(), any());
+    }
+
+    private static AssignedTaskRow assignedRow(Long id, LocalDateTime createdAt) {
+        return new AssignedTaskRow() {
+            public Long getId() { return id; }
+            public String getName() { return "Задача " + id; }
+            public TaskStatus getStatus() { return TaskStatus.IN_PROGRESS; }
+            public LocalDateTime getCreatedAt() { return createdAt; }
+            public Long getProjectId() { return 1L; }
+            public String getProjectName() { return "Проект"; }
+        };
+    }
+}
@@ -2,11 +2,15 @@ package com.example.projectflow;
 
 import com.example.projectflow.model.User;
 import com.example.projectflow.repository.UserRepository;
+import com.example.projectflow.service.PasswordHasher;
+import com.example.projectflow.service.UserLoginIndex;
 import com.example.projectflow.service.UserService;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Arrays;
@@ -17,13 +21,17 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest(classes = UserService.class)
+@SpringBootTest(classes = {UserService.class, UserLoginIndex.class, PasswordHasher.class},
+        properties = "projectflow.password.bcrypt-strength=4")
 @ActiveProfiles("test")
 class UserServiceTest {
 
     @Autowired
     private UserService userService;
 
+    @SpyBean
+    private PasswordHasher passwordHasher;
+
     @MockBean
     private UserRepository userRepository;
 
@@ -34,6 +42,7 @@ class UserServiceTest {
         String password = "123456";
 
         User newUser = new User();
+        newUser.setId(1L);
         newUser.setLogin(login);
         newUser.setPasswordHash(password);
 
@@ -52,6 +61,25 @@ class UserServiceTest {
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    void testRegister_StoresHashNotRawPassword() {
+        // Given
+        String login = "test@example.com";
+        String password = "123456";
+
+        when(userRepository.findByLogin(login)).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        // When
+        userService.register(login, password);
+
+        // Then
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        assertNotEquals(password, saved.getValue().getPasswordHash());
+        assertTrue(passwordHasher.matches(password, saved.getValue().getPasswordHash()));
+    }
+
     @Test
     void testRegister_UserAlreadyExists() {
         // Given
@@ -116,6 +144,52 @@ class UserServiceTest {
         verify(userRepository).findByLogin(login);
     }
 
+    @Test
+    void testAuthenticate_HashedPassword() {
+        // Given
+        String login = "test@example.com";
+        String password = "123456";
+
+        User user = new User();
+        user.setLogin(login);
+        user.setPasswordHash(passwordHasher.hash(password));
+
+        when(userRepository.findByLogin(login)).thenReturn(Optional.of(user));
+
+        // When
+        Optional<User> ok = userService.authenticate(login, password);
+        Optional<User> wrong = userService.authenticate(login, "wrongpass");
+
+        // Then
+        assertTrue(ok.isPresent());
+        assertTrue(wrong.isEmpty());
+
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testAuthenticate_LegacyPasswordIsRehashed() {
+        // Given
+        String login = "test@example.com";
+        String password = "123456";
+
+        User user = new User();
+        user.setLogin(login);
+        user.setPasswordHash(password);
+
+        when(userRepository.findByLogin(login)).thenReturn(Optional.of(user));
+
+        // When
+        Optional<User> result = userService.authenticate(login, password);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertNotEquals(password, user.getPasswordHash());
+        assertTrue(passwordHasher.matches(password, user.getPasswordHash()));
+
+        verify(userRepository).save(user);
+    }
+
     @Test
     void testAuthenticate_UserNotFound() {
         // Given
@@ -131,6 +205,8 @@ class UserServiceTest {
         assertTrue(result.isEmpty());
 
         verify(userRepository).findByLogin(login);
+        // Неизвестный логин проходит через BCrypt так же, как известный
+        verify(passwordHasher).matchesDummy(password);
     }
 
     @Test
@@ -154,4 +230,27 @@ class UserServiceTest {
 
         verify(userRepository).findAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchByLoginPrefix_FindsRegisteredUser() {
+        // Given
+        User saved = new User();
+        saved.setId(7L);
+        saved.setLogin("Skebob");
+
+        when(userRepository.findByLogin("Skebob")).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenReturn(saved);
+
+        // When
+        userService.register("Skebob", "123456");
+        List<UserLoginIndex.Entry> result = userService.searchByLoginPrefix("ske");
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(7L, result.get(0).id());
+        assertEquals("Skebob", result.get(0).login());
+        assertTrue(userService.searchByLoginPrefix("x").isEmpty());
+
+        verify(userRepository, never()).findAll();
+    }
+}